@@ -0,0 +1,106 @@
+package com.ramotion.circlemenu.benchmark;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+
+import com.ramotion.circlemenu.CircleMenuConfig;
+import com.ramotion.circlemenu.CircleMenuView;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+/**
+ * Inflation of {@link CircleMenuView} with buttons declared in XML, and construction of its animation graphs.
+ */
+@RunWith(Parameterized.class)
+public class CircleMenuViewBenchmark {
+
+    @Parameterized.Parameters(name = "items={0}")
+    public static List<Object[]> parameters() {
+        return Arrays.asList(new Object[][] {
+                {4, R.layout.benchmark_menu_4},
+                {8, R.layout.benchmark_menu_8},
+                {16, R.layout.benchmark_menu_16},
+        });
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int layoutId;
+
+    public CircleMenuViewBenchmark(int count, int layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    @Test
+    public void inflate() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final LayoutInflater inflater = LayoutInflater.from(getContext());
+
+                final BenchmarkState state = benchmarkRule.getState();
+                while (state.keepRunning()) {
+                    // Cold inflation, attributes are parsed every time
+                    CircleMenuConfig.clearCache();
+                    inflater.inflate(layoutId, null);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void inflateCachedConfig() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final LayoutInflater inflater = LayoutInflater.from(getContext());
+                CircleMenuConfig.clearCache();
+                inflater.inflate(layoutId, null);
+
+                final BenchmarkState state = benchmarkRule.getState();
+                while (state.keepRunning()) {
+                    inflater.inflate(layoutId, null);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void prepareAnimations() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final CircleMenuView view = (CircleMenuView) LayoutInflater.from(getContext()).inflate(layoutId, null);
+                final int duration = view.getDurationOpen();
+
+                final BenchmarkState state = benchmarkRule.getState();
+                while (state.keepRunning()) {
+                    // Changing duration drops cached graphs
+                    view.setDurationOpen(duration);
+                    view.prepareAnimations();
+                }
+            }
+        });
+    }
+
+    private static Context getContext() {
+        return InstrumentationRegistry.getInstrumentation().getContext();
+    }
+
+    // Parameterized runner does not support UiThreadTest
+    private static void runOnMainSync(Runnable runnable) {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.ramotion.circlemenu.benchmark;
+
+import android.content.Context;
+
+import com.ramotion.circlemenu.RingEffectView;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+/**
+ * One full ring animation, 60 frames of {@link RingEffectView#setAngle(float)}.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RingEffectViewBenchmark {
+
+    private static final int FRAMES = 60;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Test
+    @UiThreadTest
+    public void arc() {
+        measure(false);
+    }
+
+    @Test
+    @UiThreadTest
+    public void polyline() {
+        measure(true);
+    }
+
+    private void measure(boolean polyline) {
+        final Context context = InstrumentationRegistry.getInstrumentation().getContext();
+        final RingEffectView view = new RingEffectView(context);
+        view.setRadius(300);
+        view.setStrokeWidth(40);
+        view.setPolylineMode(polyline);
+
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            view.setStartAngle(-90f);
+            for (int i = 1; i <= FRAMES; i++) {
+                view.setAngle(360f * i / FRAMES);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.ramotion.circlemenu.benchmark;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+
+/**
+ * Runs JMH benchmarks of this module, skipped unless Gradle is started with {@code -Pjmh}:
+ * <pre>./gradlew :circle-menu-benchmark:testReleaseUnitTest -Pjmh</pre>
+ * Results are written to {@code build/reports/jmh/results.json}.
+ */
+public class JmhBenchmarkTest {
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        Assume.assumeTrue(Boolean.getBoolean("jmh"));
+
+        final File output = new File(System.getProperty("jmh.output", "build/reports/jmh/results.json"));
+        output.getParentFile().mkdirs();
+
+        final Options options = new OptionsBuilder()
+                .include(LayoutMathBenchmark.class.getSimpleName())
+                .include(RingAngleBenchmark.class.getSimpleName())
+                // Gradle test worker classpath is not visible to a forked JVM
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result(output.getAbsolutePath())
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.ramotion.circlemenu.benchmark;
+
+import com.ramotion.circlemenu.CircleGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per frame button positioning of {@code CircleMenuView.offsetAndScaleButtons}:
+ * trigonometry for every button versus directions cached by {@link CircleGeometry}.
+ */
+@State(Scope.Thread)
+public class LayoutMathBenchmark {
+
+    @Param({"4", "8", "16"})
+    public int count;
+
+    private final CircleGeometry geometry = new CircleGeometry();
+    private float distance;
+    private float offset;
+
+    @Setup
+    public void setUp() {
+        distance = 300f;
+        offset = 150f;
+        geometry.setup(count, distance);
+    }
+
+    @Benchmark
+    public void trigonometry(Blackhole blackhole) {
+        final float step = 360f / count;
+        for (int i = 0; i < count; i++) {
+            final float angle = -90f + step * i;
+            blackhole.consume((float) Math.cos(Math.toRadians(angle)) * offset);
+            blackhole.consume((float) Math.sin(Math.toRadians(angle)) * offset);
+        }
+    }
+
+    @Benchmark
+    public void geometry(Blackhole blackhole) {
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(geometry.getX(i, offset));
+            blackhole.consume(geometry.getY(i, offset));
+        }
+    }
+
+    @Benchmark
+    public void geometrySetup(Blackhole blackhole) {
+        // Alternate distance so setup is never a no-op
+        distance = -distance;
+        blackhole.consume(geometry.setup(count, distance));
+    }
+
+}
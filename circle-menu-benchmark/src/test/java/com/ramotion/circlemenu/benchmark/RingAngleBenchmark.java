@@ -0,0 +1,47 @@
+package com.ramotion.circlemenu.benchmark;
+
+import com.ramotion.circlemenu.RingPolyline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Point math of one full polyline ring animation, {@link RingPolyline} as called by
+ * {@code RingEffectView.setAngle}, for given frames count. Path itself is an Android class,
+ * points are consumed instead. Arc mode has no per frame math, it is compared with polyline mode
+ * on a device by {@code RingEffectViewBenchmark}.
+ */
+@State(Scope.Thread)
+public class RingAngleBenchmark {
+
+    @Param({"20", "60"})
+    public int frames;
+
+    private final float startAngle = -90f;
+    private final float radius = 280f;
+
+    private Blackhole blackhole;
+
+    private final RingPolyline.Target target = new RingPolyline.Target() {
+        @Override
+        public void lineTo(float x, float y) {
+            blackhole.consume(x);
+            blackhole.consume(y);
+        }
+    };
+
+    @Benchmark
+    public void polyline(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        float current = 0;
+        for (int f = 1; f <= frames; f++) {
+            final float angle = 360f * f / frames;
+            RingPolyline.append(startAngle, current, angle, radius, target);
+            current = angle;
+        }
+    }
+
+}
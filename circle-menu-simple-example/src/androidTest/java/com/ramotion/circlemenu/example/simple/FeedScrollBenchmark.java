@@ -0,0 +1,45 @@
+package com.ramotion.circlemenu.example.simple;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.rule.ActivityTestRule;
+
+/**
+ * Scrolling of {@link FeedActivity}, every step recycles rows and binds their menus.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FeedScrollBenchmark {
+
+    private static final int SCROLL_STEP = 100;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Rule
+    public ActivityTestRule<FeedActivity> activityRule = new ActivityTestRule<>(FeedActivity.class);
+
+    @Test
+    @UiThreadTest
+    public void scroll() {
+        final RecyclerView recyclerView = activityRule.getActivity().recyclerView;
+        int direction = 1;
+
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            // Scroll back at the end of the feed
+            if (!recyclerView.canScrollVertically(direction)) {
+                direction = -direction;
+            }
+            // RecyclerView lays out and binds new rows within scrollBy
+            recyclerView.scrollBy(0, SCROLL_STEP * direction);
+        }
+    }
+
+}
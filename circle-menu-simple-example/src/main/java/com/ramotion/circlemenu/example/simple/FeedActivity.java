@@ -0,0 +1,120 @@
+package com.ramotion.circlemenu.example.simple;
+
+import android.content.res.TypedArray;
+import android.os.Bundle;
+import android.view.ViewGroup;
+
+import com.ramotion.circlemenu.CircleMenuModel;
+import com.ramotion.circlemenu.CircleMenuView;
+import com.ramotion.circlemenu.MenuItemPool;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Long feed with a recycled CircleMenuView in every row, used by the scroll benchmark.
+ */
+public class FeedActivity extends AppCompatActivity {
+
+    static final int ROWS_COUNT = 500;
+
+    private static final int ROW_HEIGHT = 300;
+
+    RecyclerView recyclerView;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        // Buttons for rows are created while the main thread is idle, instead of during scrolling
+        MenuItemPool.getDefault().prewarm(this, MenuItemPool.getDefault().getMaxRecycledItems());
+
+        final CircleMenuModel[] models = createModels();
+
+        recyclerView = new RecyclerView(this);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setAdapter(new FeedAdapter(models));
+        setContentView(recyclerView);
+    }
+
+    /**
+     * Models are created once, rows only bind them.
+     */
+    @NonNull
+    private CircleMenuModel[] createModels() {
+        final int[] icons;
+        final TypedArray iconsArray = getResources().obtainTypedArray(R.array.icons);
+        try {
+            icons = new int[iconsArray.length()];
+            for (int i = 0; i < icons.length; i++) {
+                icons[i] = iconsArray.getResourceId(i, 0);
+            }
+        } finally {
+            iconsArray.recycle();
+        }
+        final int[] colors = getResources().getIntArray(R.array.colors);
+        final CharSequence[] labels = getResources().getTextArray(R.array.labels);
+
+        final CircleMenuModel[] models = new CircleMenuModel[ROWS_COUNT];
+        for (int i = 0; i < ROWS_COUNT; i++) {
+            // Rows differ in buttons count and badges
+            final int count = 3 + i % (icons.length - 2);
+            final int[] rowIcons = new int[count];
+            final int[] rowColors = new int[count];
+            final int[] rowBadges = new int[count];
+            for (int j = 0; j < count; j++) {
+                rowIcons[j] = icons[(i + j) % icons.length];
+                rowColors[j] = colors[(i + j) % colors.length];
+                rowBadges[j] = (i + j) % 4;
+            }
+            models[i] = new CircleMenuModel(rowIcons, rowColors, labels, rowBadges);
+        }
+        return models;
+    }
+
+    private static class FeedAdapter extends RecyclerView.Adapter<FeedAdapter.Holder> {
+
+        private final CircleMenuModel[] mModels;
+
+        FeedAdapter(@NonNull CircleMenuModel[] models) {
+            mModels = models;
+        }
+
+        static class Holder extends RecyclerView.ViewHolder {
+            final CircleMenuView menu;
+
+            Holder(@NonNull CircleMenuView menu) {
+                super(menu);
+                this.menu = menu;
+            }
+        }
+
+        @NonNull
+        @Override
+        public Holder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final float density = parent.getResources().getDisplayMetrics().density;
+            final CircleMenuView menu = new CircleMenuView(parent.getContext());
+            menu.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, (int) (ROW_HEIGHT * density)));
+            return new Holder(menu);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull Holder holder, int position) {
+            holder.menu.bind(mModels[position]);
+        }
+
+        @Override
+        public void onViewRecycled(@NonNull Holder holder) {
+            holder.menu.unbind();
+        }
+
+        @Override
+        public int getItemCount() {
+            return mModels.length;
+        }
+    }
+
+}
@@ -5,6 +5,7 @@ import android.util.Log;
 import android.view.View;
 
 import com.ramotion.circlemenu.CircleMenuView;
+import com.ramotion.circlemenu.MenuItemPool;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
@@ -16,6 +17,8 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // Menus created later take ready-made buttons, created when the main thread is idle
+        MenuItemPool.getDefault().prewarm(this, 8);
         setContentView(R.layout.activity_main);
 
         findViewById(R.id.azz).setOnClickListener(new View.OnClickListener() {
@@ -48,6 +51,11 @@ public class MainActivity extends AppCompatActivity {
                 Log.d("D", "onMenuCloseAnimationEnd");
             }
 
+            @Override
+            public void onItemSelected(@NonNull CircleMenuView view, int index) {
+                Log.d("D", "onItemSelected| index: " + index);
+            }
+
             @Override
             public void onButtonClickAnimationStart(@NonNull CircleMenuView view, int index) {
                 Log.d("D", "onButtonClickAnimationStart| index: " + index);
@@ -0,0 +1,94 @@
+package com.ramotion.circlemenu;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.test.InstrumentationRegistry;
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.runner.AndroidJUnit4;
+
+import static org.junit.Assert.*;
+
+/**
+ * Badges of a menu whose buttons are released, as in a detached RecyclerView row.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CircleMenuViewBadgeTest {
+
+    private static final int[] ICONS = {
+            R.drawable.ic_menu_black_24dp, R.drawable.ic_menu_black_24dp, R.drawable.ic_menu_black_24dp};
+    private static final int[] COLORS = {0xFF0000FF, 0xFF00FF00, 0xFFFF0000};
+
+    private CircleMenuView menu;
+
+    @Before
+    public void setUp() {
+        final Context context = InstrumentationRegistry.getTargetContext();
+        // Lazy menu that is not attached keeps its buttons released
+        final CircleMenuConfig config = new CircleMenuConfig.Builder(context)
+                .setLazyButtons(true)
+                .build();
+        menu = new CircleMenuView(context, config);
+    }
+
+    @Test
+    @UiThreadTest
+    public void bind_thenSetBadge_keepsBadge() {
+        menu.bind(new CircleMenuModel(ICONS, COLORS, null, null));
+        menu.setBadge(2, 7);
+
+        assertEquals(7, menu.getBadge(2));
+    }
+
+    @Test
+    @UiThreadTest
+    public void rebind_dropsBadges() {
+        menu.bind(new CircleMenuModel(ICONS, COLORS, null, null));
+        menu.setBadge(1, 3);
+        menu.bind(new CircleMenuModel(ICONS, COLORS, null, null));
+
+        assertEquals(0, menu.getBadge(1));
+    }
+
+    @Test
+    @UiThreadTest
+    public void rebind_appliesButtonColors() {
+        final Context context = InstrumentationRegistry.getTargetContext();
+        final CircleMenuView eagerMenu = new CircleMenuView(context, new CircleMenuConfig.Builder(context).build());
+        final int[] colors = {0xFF00FFFF, 0xFFFF00FF, 0xFFFFFF00};
+        eagerMenu.bind(new CircleMenuModel(ICONS, COLORS, null, null));
+        eagerMenu.bind(new CircleMenuModel(ICONS, colors, null, null));
+
+        for (int i = 0; i < colors.length; i++) {
+            assertEquals(colors[i], ((MenuItemView) eagerMenu.getMenuItem(i)).getColor());
+        }
+    }
+
+    @Test
+    @UiThreadTest
+    public void lazyMenu_setBadgeBeforeOpen_keepsBadge() {
+        final Context context = InstrumentationRegistry.getTargetContext();
+        final CircleMenuConfig config = new CircleMenuConfig.Builder(context)
+                .setButtons(ICONS, COLORS, null, null)
+                .setLazyButtons(true)
+                .build();
+        final CircleMenuView lazyMenu = new CircleMenuView(context, config);
+
+        lazyMenu.setBadge(0, 4);
+        lazyMenu.updateBadge(new int[] {4, 5, 6});
+
+        assertEquals(4, lazyMenu.getBadge(0));
+        assertEquals(6, lazyMenu.getBadge(2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    @UiThreadTest
+    public void setBadge_outOfRange_throws() {
+        menu.bind(new CircleMenuModel(ICONS, COLORS, null, null));
+        menu.setBadge(3, 1);
+    }
+
+}
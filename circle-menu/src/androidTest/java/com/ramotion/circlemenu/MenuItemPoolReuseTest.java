@@ -0,0 +1,50 @@
+package com.ramotion.circlemenu;
+
+import android.content.Context;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.rule.ActivityTestRule;
+import androidx.test.runner.AndroidJUnit4;
+
+import static org.junit.Assert.*;
+
+/**
+ * Buttons pre-warmed with the application context are reused by menus of an activity.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MenuItemPoolReuseTest {
+
+    @Rule
+    public ActivityTestRule<TestActivity> activityRule = new ActivityTestRule<>(TestActivity.class);
+
+    @After
+    public void tearDown() throws Throwable {
+        activityRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                MenuItemPool.getDefault().clear();
+            }
+        });
+    }
+
+    @Test
+    @UiThreadTest
+    public void obtain_activityContext_reusesPooledView() {
+        final Context activity = activityRule.getActivity();
+        final MenuItemPool pool = MenuItemPool.getDefault();
+        pool.clear();
+
+        final MenuItemView pooled = new MenuItemView(activity.getApplicationContext());
+        pool.recycle(pooled);
+        assertEquals(1, pool.getRecycledItemCount());
+
+        assertSame(pooled, pool.obtain(activity));
+        assertEquals(0, pool.getRecycledItemCount());
+    }
+
+}
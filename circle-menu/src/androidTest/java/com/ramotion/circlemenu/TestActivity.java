@@ -0,0 +1,9 @@
+package com.ramotion.circlemenu;
+
+import android.app.Activity;
+
+/**
+ * Empty activity, gives tests an activity context with its own configuration.
+ */
+public class TestActivity extends Activity {
+}
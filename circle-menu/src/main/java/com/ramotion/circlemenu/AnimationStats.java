@@ -0,0 +1,134 @@
+package com.ramotion.circlemenu;
+
+import java.util.Arrays;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Frame statistics of a single menu animation, see {@link CircleMenuView#setFrameStatsEnabled(boolean)}.
+ */
+public final class AnimationStats {
+
+    /** Menu open animation. */
+    public static final int TYPE_OPEN = 0;
+    /** Menu close animation. */
+    public static final int TYPE_CLOSE = 1;
+    /** Button click ring animation. */
+    public static final int TYPE_RING = 2;
+
+    private static final float NANOS_PER_MILLI = 1_000_000f;
+
+    private final int mType;
+    private final int mFrameCount;
+    private final int mDroppedFrames;
+    private final float mMaxFrameTime;
+    private final float mP95FrameTime;
+    private final float mDuration;
+    private final long mConfiguredDuration;
+
+    AnimationStats(int type, int frameCount, int droppedFrames, float maxFrameTime,
+                   float p95FrameTime, float duration, long configuredDuration) {
+        mType = type;
+        mFrameCount = frameCount;
+        mDroppedFrames = droppedFrames;
+        mMaxFrameTime = maxFrameTime;
+        mP95FrameTime = p95FrameTime;
+        mDuration = duration;
+        mConfiguredDuration = configuredDuration;
+    }
+
+    /**
+     * @param type animation type.
+     * @param frameTimes intervals between frames in nanoseconds, only first count values are used.
+     * @param count count of intervals.
+     * @param frameBudget expected frame interval in nanoseconds.
+     * @param duration measured duration in nanoseconds.
+     * @param configuredDuration configured duration in milliseconds.
+     */
+    @NonNull
+    static AnimationStats compute(int type, @NonNull long[] frameTimes, int count, long frameBudget,
+                                  long duration, long configuredDuration) {
+        long max = 0;
+        int dropped = 0;
+        for (int i = 0; i < count; i++) {
+            final long frameTime = frameTimes[i];
+            max = Math.max(max, frameTime);
+            if (frameBudget > 0) {
+                // Interval of k budgets, rounded, means k - 1 frames were skipped
+                dropped += Math.max(0, (int) ((frameTime + frameBudget / 2) / frameBudget) - 1);
+            }
+        }
+
+        long p95 = 0;
+        if (count > 0) {
+            final long[] sorted = Arrays.copyOf(frameTimes, count);
+            Arrays.sort(sorted);
+            p95 = sorted[Math.min(count - 1, (int) Math.ceil(count * 0.95) - 1)];
+        }
+
+        return new AnimationStats(type, count, dropped, max / NANOS_PER_MILLI,
+                p95 / NANOS_PER_MILLI, duration / NANOS_PER_MILLI, configuredDuration);
+    }
+
+    /**
+     * @return one of {@link #TYPE_OPEN}, {@link #TYPE_CLOSE} or {@link #TYPE_RING}.
+     */
+    public int getType() {
+        return mType;
+    }
+
+    /**
+     * @return count of rendered frames.
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * @return count of frames missed because a frame took longer than display refresh interval.
+     */
+    public int getDroppedFrames() {
+        return mDroppedFrames;
+    }
+
+    /**
+     * @return longest frame interval in milliseconds.
+     */
+    public float getMaxFrameTime() {
+        return mMaxFrameTime;
+    }
+
+    /**
+     * @return 95th percentile of frame intervals in milliseconds.
+     */
+    public float getP95FrameTime() {
+        return mP95FrameTime;
+    }
+
+    /**
+     * @return measured animation duration in milliseconds.
+     */
+    public float getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * @return total animation duration configured in milliseconds.
+     */
+    public long getConfiguredDuration() {
+        return mConfiguredDuration;
+    }
+
+    @Override
+    public String toString() {
+        return "AnimationStats{type=" + mType
+                + ", frames=" + mFrameCount
+                + ", dropped=" + mDroppedFrames
+                + ", max=" + mMaxFrameTime
+                + ", p95=" + mP95FrameTime
+                + ", duration=" + mDuration
+                + ", configured=" + mConfiguredDuration
+                + '}';
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.ramotion.circlemenu;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Badge values of menu buttons backed by primitive arrays.
+ * <p>
+ * Requested values are only stored, {@link #apply(Target)} later touches buttons whose value
+ * differs from the one already shown. CircleMenuView applies at most once per frame.
+ */
+final class BadgeStore {
+
+    /**
+     * Receives changed badge values.
+     */
+    interface Target {
+        void onBadgeChanged(int index, int count);
+    }
+
+    /** No value requested for the button, badge stays as bound by adapter. */
+    static final int UNSET = Integer.MIN_VALUE;
+
+    private int[] mRequested = new int[0];
+    private int[] mApplied = new int[0];
+    private int mCount;
+    private boolean mDirty;
+
+    int getCount() {
+        return mCount;
+    }
+
+    /**
+     * @return requested badge value or {@link #UNSET}.
+     */
+    int get(int index) {
+        return mRequested[index];
+    }
+
+    /**
+     * @return true if value differs from the shown one and apply is required.
+     */
+    boolean set(int index, int count) {
+        mRequested[index] = count;
+        if (mApplied[index] != count) {
+            mDirty = true;
+        }
+        return mDirty;
+    }
+
+    /**
+     * Sets values for first buttons, extra values are ignored.
+     * @return true if apply is required.
+     */
+    boolean setAll(@NonNull int[] counts) {
+        for (int i = 0, cnt = Math.min(counts.length, mCount); i < cnt; i++) {
+            set(i, counts[i]);
+        }
+        return mDirty;
+    }
+
+    boolean isDirty() {
+        return mDirty;
+    }
+
+    /**
+     * Notifies target about values changed since last apply.
+     */
+    void apply(@NonNull Target target) {
+        if (!mDirty) {
+            return;
+        }
+
+        mDirty = false;
+        for (int i = 0; i < mCount; i++) {
+            final int requested = mRequested[i];
+            if (requested != UNSET && requested != mApplied[i]) {
+                mApplied[i] = requested;
+                target.onBadgeChanged(i, requested);
+            }
+        }
+    }
+
+    /**
+     * Called after button is bound.
+     * @param shown badge value set by adapter.
+     * @return value to show instead, or {@link #UNSET} to keep adapter value.
+     */
+    int onBound(int index, int shown) {
+        final int requested = mRequested[index];
+        mApplied[index] = requested != UNSET ? requested : shown;
+        return requested;
+    }
+
+    /**
+     * Truncates or extends values, new buttons have no requested value.
+     */
+    void setCount(int count) {
+        ensureCapacity(count);
+        for (int i = mCount; i < count; i++) {
+            mRequested[i] = UNSET;
+            mApplied[i] = UNSET;
+        }
+        mCount = count;
+    }
+
+    /**
+     * Drops all values, keeps allocated arrays.
+     */
+    void clear() {
+        mCount = 0;
+        mDirty = false;
+    }
+
+    void insert(int index) {
+        ensureCapacity(mCount + 1);
+        System.arraycopy(mRequested, index, mRequested, index + 1, mCount - index);
+        System.arraycopy(mApplied, index, mApplied, index + 1, mCount - index);
+        mRequested[index] = UNSET;
+        mApplied[index] = UNSET;
+        mCount++;
+    }
+
+    void remove(int index) {
+        mCount--;
+        System.arraycopy(mRequested, index + 1, mRequested, index, mCount - index);
+        System.arraycopy(mApplied, index + 1, mApplied, index, mCount - index);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (mRequested.length >= capacity) {
+            return;
+        }
+
+        final int size = Math.max(capacity, mRequested.length * 2);
+        final int[] requested = new int[size];
+        final int[] applied = new int[size];
+        System.arraycopy(mRequested, 0, requested, 0, mCount);
+        System.arraycopy(mApplied, 0, applied, 0, mCount);
+        mRequested = requested;
+        mApplied = applied;
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.ramotion.circlemenu;
+
+/**
+ * Precomputed layout math for buttons placed on a circle around the menu button.
+ * <p>
+ * Unit direction vectors are calculated once for the current buttons count, start angle and sweep.
+ * Offsets at the full distance are recalculated only when buttons count or distance changes,
+ * so per frame positioning is a single multiply-add over primitive arrays.
+ */
+public final class CircleGeometry {
+
+    /** Angle of the first button, in degrees. Zero degrees points to the right, -90 points up. */
+    public static final float DEFAULT_START_ANGLE = -90f;
+    /** Sweep of a full circle, in degrees. */
+    public static final float FULL_SWEEP = 360f;
+
+    private static final float[] EMPTY = new float[0];
+
+    private float[] mUnitX = EMPTY;
+    private float[] mUnitY = EMPTY;
+    private float[] mAngles = EMPTY;
+    private float[] mOffsetX = EMPTY;
+    private float[] mOffsetY = EMPTY;
+
+    private int mCount;
+    private float mDistance;
+    private float mStartAngle = DEFAULT_START_ANGLE;
+    private float mSweep = FULL_SWEEP;
+    private float mAngleStep;
+
+    /**
+     * Updates buttons count and distance. Does nothing if both values are unchanged.
+     * @param count buttons count.
+     * @param distance distance between menu button and buttons, in pixels.
+     * @return true if geometry was recalculated.
+     */
+    public boolean setup(int count, float distance) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Buttons count must be non-negative");
+        }
+
+        final boolean countChanged = count != mCount;
+        if (!countChanged && distance == mDistance) {
+            return false;
+        }
+
+        mCount = count;
+        mDistance = distance;
+        if (countChanged) {
+            computeDirections();
+        }
+        computeOffsets();
+        return true;
+    }
+
+    /**
+     * Updates start angle and sweep of the circle.
+     * @param startAngle angle of the first button, in degrees.
+     * @param sweep angle covered by buttons, in degrees. Use {@link #FULL_SWEEP} for a full circle.
+     * @return true if geometry was recalculated.
+     */
+    public boolean setAngles(float startAngle, float sweep) {
+        if (startAngle == mStartAngle && sweep == mSweep) {
+            return false;
+        }
+
+        mStartAngle = startAngle;
+        mSweep = sweep;
+        computeDirections();
+        computeOffsets();
+        return true;
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    public float getDistance() {
+        return mDistance;
+    }
+
+    public float getStartAngle() {
+        return mStartAngle;
+    }
+
+    public float getSweep() {
+        return mSweep;
+    }
+
+    /**
+     * @return angle between two neighbour buttons, in degrees.
+     */
+    public float getAngleStep() {
+        return mAngleStep;
+    }
+
+    /**
+     * @param index button zero-based index.
+     * @return button angle normalized to [0, 360) degrees.
+     */
+    public float getAngle(int index) {
+        return mAngles[index];
+    }
+
+    public float getUnitX(int index) {
+        return mUnitX[index];
+    }
+
+    public float getUnitY(int index) {
+        return mUnitY[index];
+    }
+
+    /**
+     * @param index button zero-based index.
+     * @return horizontal button offset at the full distance.
+     */
+    public float getOffsetX(int index) {
+        return mOffsetX[index];
+    }
+
+    /**
+     * @param index button zero-based index.
+     * @return vertical button offset at the full distance.
+     */
+    public float getOffsetY(int index) {
+        return mOffsetY[index];
+    }
+
+    /**
+     * @param index button zero-based index.
+     * @param offset current distance from the menu button, in pixels.
+     * @return horizontal button offset at the given distance.
+     */
+    public float getX(int index, float offset) {
+        return mUnitX[index] * offset;
+    }
+
+    /**
+     * @param index button zero-based index.
+     * @param offset current distance from the menu button, in pixels.
+     * @return vertical button offset at the given distance.
+     */
+    public float getY(int index, float offset) {
+        return mUnitY[index] * offset;
+    }
+
+    /**
+     * Finds the button whose angular sector contains the point, with a single atan2 and a distance check.
+     * Sectors of neighbour buttons meet halfway between them.
+     * @param x horizontal point offset from the circle center, in pixels.
+     * @param y vertical point offset from the circle center, in pixels.
+     * @param tolerance max difference between point distance from the center and {@link #getDistance()}.
+     * @return button zero-based index or -1.
+     */
+    public int getIndexAt(float x, float y, float tolerance) {
+        if (mCount == 0 || mAngleStep == 0) {
+            return -1;
+        }
+
+        final float distance = (float) Math.sqrt(x * x + y * y);
+        if (Math.abs(distance - mDistance) > tolerance) {
+            return -1;
+        }
+
+        final float step = Math.abs(mAngleStep);
+        float relative = normalize((float) Math.toDegrees(Math.atan2(y, x)) - mStartAngle);
+        if (mAngleStep < 0) {
+            relative = normalize(-relative);
+        }
+
+        final int index = Math.round(relative / step);
+        if (index < mCount) {
+            return index;
+        }
+        // Past the last button, point may still be in the first button sector before the start angle
+        return FULL_SWEEP - relative <= step / 2 ? 0 : -1;
+    }
+
+    private void computeDirections() {
+        final int count = mCount;
+        if (mUnitX.length != count) {
+            mUnitX = new float[count];
+            mUnitY = new float[count];
+            mAngles = new float[count];
+            mOffsetX = new float[count];
+            mOffsetY = new float[count];
+        }
+
+        if (count == 0) {
+            mAngleStep = 0;
+            return;
+        }
+
+        final boolean fullCircle = Math.abs(mSweep) >= FULL_SWEEP;
+        mAngleStep = fullCircle || count == 1 ? mSweep / count : mSweep / (count - 1);
+
+        for (int i = 0; i < count; i++) {
+            final float angle = mStartAngle + mAngleStep * i;
+            final double radians = Math.toRadians(angle);
+            mUnitX[i] = (float) Math.cos(radians);
+            mUnitY[i] = (float) Math.sin(radians);
+            mAngles[i] = normalize(angle);
+        }
+    }
+
+    private void computeOffsets() {
+        for (int i = 0; i < mCount; i++) {
+            mOffsetX[i] = mUnitX[i] * mDistance;
+            mOffsetY[i] = mUnitY[i] * mDistance;
+        }
+    }
+
+    static float normalize(float angle) {
+        final float result = angle % FULL_SWEEP;
+        return result < 0 ? result + FULL_SWEEP : result;
+    }
+
+}
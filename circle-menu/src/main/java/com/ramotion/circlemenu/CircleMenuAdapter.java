@@ -0,0 +1,107 @@
+package com.ramotion.circlemenu;
+
+import java.util.ArrayList;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+/**
+ * Provides buttons of {@link CircleMenuView}.
+ * <p>
+ * Call one of notify methods after data change. Single button change rebinds only that button,
+ * insertion and removal reuse existing buttons and only recompute their positions.
+ * Use {@link CircleMenuDiff} to dispatch changes between two lists.
+ */
+public abstract class CircleMenuAdapter {
+
+    /**
+     * Receives adapter data changes.
+     */
+    interface Observer {
+        void onChanged();
+
+        void onItemChanged(int position);
+
+        void onItemInserted(int position);
+
+        void onItemRemoved(int position);
+    }
+
+    private final ArrayList<Observer> mObservers = new ArrayList<>();
+
+    /**
+     * @return buttons count.
+     */
+    public abstract int getItemCount();
+
+    /**
+     * Binds data to button.
+     * @param item button view.
+     * @param position button zero-based index.
+     */
+    public abstract void onBindItem(@NonNull CircleMenuItem item, int position);
+
+    /**
+     * @param position button zero-based index.
+     * @return stable button id, used by {@link CircleMenuDiff#forIds(long[], long[])}.
+     */
+    public long getItemId(int position) {
+        return position;
+    }
+
+    /**
+     * @param position button zero-based index.
+     * @return ring effect color of button.
+     */
+    @ColorInt
+    public int getItemColor(int position) {
+        return 0;
+    }
+
+    /**
+     * Notifies that any button may have changed, all buttons are rebound.
+     */
+    public final void notifyDataSetChanged() {
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onChanged();
+        }
+    }
+
+    /**
+     * @param position changed button zero-based index.
+     */
+    public final void notifyItemChanged(int position) {
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onItemChanged(position);
+        }
+    }
+
+    /**
+     * @param position inserted button zero-based index.
+     */
+    public final void notifyItemInserted(int position) {
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onItemInserted(position);
+        }
+    }
+
+    /**
+     * @param position removed button zero-based index.
+     */
+    public final void notifyItemRemoved(int position) {
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onItemRemoved(position);
+        }
+    }
+
+    void registerObserver(@NonNull Observer observer) {
+        if (!mObservers.contains(observer)) {
+            mObservers.add(observer);
+        }
+    }
+
+    void unregisterObserver(@NonNull Observer observer) {
+        mObservers.remove(observer);
+    }
+
+}
@@ -0,0 +1,536 @@
+package com.ramotion.circlemenu;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.util.AttributeSet;
+import android.view.ViewConfiguration;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Immutable settings of {@link CircleMenuView}, parsed from XML attributes or built with {@link Builder}.
+ * <p>
+ * Parsed configurations are cached per theme, keyed by the style and CircleMenuView attributes
+ * declared in XML. Menus inflated from the same layout share one configuration,
+ * buttons arrays are read and stored as primitive arrays once.
+ */
+public final class CircleMenuConfig {
+
+    private static final float DEFAULT_DISTANCE = 112;
+    private static final int DEFAULT_TOUCH_RING_THICKNESS = 50;
+
+    private static final WeakHashMap<Resources.Theme, HashMap<Key, CircleMenuConfig>> sCache = new WeakHashMap<>();
+    // Reused for lookups, a new key is only allocated on cache miss
+    private static final Key sLookupKey = new Key();
+
+    private final CircleMenuModel mButtons;
+    private final int mIconMenu;
+    private final int mIconClose;
+    private final int mIconColor;
+    private final int mDurationRing;
+    private final int mLongClickDurationRing;
+    private final int mDurationOpen;
+    private final int mDurationClose;
+    private final float mDistance;
+    private final boolean mRingPolyline;
+    private final int mItemLayout;
+    private final int mLayerPolicy;
+    private final int mRenderMode;
+    private final int mQuality;
+    private final int mPageSize;
+    private final float mTouchRingThickness;
+    private final float mTouchSlop;
+    private final boolean mRotationEnabled;
+    private final boolean mLazyButtons;
+
+    static final class Key {
+        private int mStyle;
+        // Resource ids and raw values of CircleMenuView attributes, other attributes are ignored
+        private int[] mNames;
+        private String[] mValues;
+        private int mCount;
+        private int mHash;
+
+        Key() {
+            mNames = new int[0];
+            mValues = new String[0];
+        }
+
+        Key(@NonNull Key other) {
+            mStyle = other.mStyle;
+            mCount = other.mCount;
+            mHash = other.mHash;
+            mNames = Arrays.copyOf(other.mNames, mCount);
+            mValues = Arrays.copyOf(other.mValues, mCount);
+        }
+
+        /**
+         * Fills key with the style and CircleMenuView attributes of attrs, reusing arrays.
+         */
+        void set(@Nullable AttributeSet attrs) {
+            reset(attrs != null ? attrs.getStyleAttribute() : 0);
+            if (attrs != null) {
+                for (int i = 0, cnt = attrs.getAttributeCount(); i < cnt; i++) {
+                    final int name = attrs.getAttributeNameResource(i);
+                    if (isMenuAttribute(name)) {
+                        add(name, attrs.getAttributeValue(i));
+                    }
+                }
+            }
+        }
+
+        void reset(int style) {
+            mStyle = style;
+            mCount = 0;
+            mHash = style;
+        }
+
+        void add(int name, @Nullable String value) {
+            if (mCount == mNames.length) {
+                final int capacity = Math.max(8, mCount * 2);
+                mNames = Arrays.copyOf(mNames, capacity);
+                mValues = Arrays.copyOf(mValues, capacity);
+            }
+            mNames[mCount] = name;
+            mValues[mCount] = value;
+            mCount++;
+            mHash = 31 * (31 * mHash + name) + (value != null ? value.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            if (mHash != key.mHash || mStyle != key.mStyle || mCount != key.mCount) {
+                return false;
+            }
+            // Hash only narrows the lookup, declarations must match value by value
+            for (int i = 0; i < mCount; i++) {
+                if (mNames[i] != key.mNames[i] || !Objects.equals(mValues[i], key.mValues[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return mHash;
+        }
+    }
+
+    /**
+     * Builds configuration from code. Defaults are the same as for a menu declared in XML without attributes.
+     */
+    public static final class Builder {
+        private int[] mIcons;
+        private int[] mColors;
+        private CharSequence[] mLabels;
+        private int[] mBadges;
+        private int mIconMenu = R.drawable.ic_menu_black_24dp;
+        private int mIconClose = R.drawable.ic_close_black_24dp;
+        private int mIconColor = Color.WHITE;
+        private int mDurationRing;
+        private int mLongClickDurationRing;
+        private int mDurationOpen;
+        private int mDurationClose;
+        private float mDistance;
+        private boolean mRingPolyline;
+        private int mItemLayout;
+        private int mLayerPolicy = CircleMenuView.LAYER_POLICY_ANIMATION;
+        private int mRenderMode = CircleMenuView.RENDER_MODE_VIEWS;
+        private int mQuality = CircleMenuView.QUALITY_AUTO;
+        private int mPageSize;
+        private float mTouchRingThickness;
+        private float mTouchSlop;
+        private boolean mRotationEnabled;
+        private boolean mLazyButtons;
+
+        public Builder(@NonNull Context context) {
+            final Resources resources = context.getResources();
+            final float density = resources.getDisplayMetrics().density;
+            mDurationRing = resources.getInteger(android.R.integer.config_mediumAnimTime);
+            mLongClickDurationRing = resources.getInteger(android.R.integer.config_longAnimTime);
+            mDurationOpen = resources.getInteger(android.R.integer.config_mediumAnimTime);
+            mDurationClose = resources.getInteger(android.R.integer.config_mediumAnimTime);
+            mDistance = DEFAULT_DISTANCE * density;
+            mTouchRingThickness = DEFAULT_TOUCH_RING_THICKNESS * density;
+            mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+        }
+
+        /**
+         * Arrays are copied.
+         * @param icons buttons icons.
+         * @param colors buttons colors, buttons count is the shorter of icons and colors.
+         * @param labels buttons labels or null.
+         * @param badges buttons badges or null.
+         */
+        @NonNull
+        public Builder setButtons(@NonNull int[] icons, @NonNull int[] colors,
+                                  @Nullable CharSequence[] labels, @Nullable int[] badges) {
+            mIcons = icons.clone();
+            mColors = colors.clone();
+            mLabels = labels != null ? labels.clone() : null;
+            mBadges = badges != null ? badges.clone() : null;
+            return this;
+        }
+
+        @NonNull
+        public Builder setIconMenu(@DrawableRes int iconMenu) {
+            mIconMenu = iconMenu;
+            return this;
+        }
+
+        @NonNull
+        public Builder setIconClose(@DrawableRes int iconClose) {
+            mIconClose = iconClose;
+            return this;
+        }
+
+        @NonNull
+        public Builder setIconColor(@ColorInt int iconColor) {
+            mIconColor = iconColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDurationRing(int duration) {
+            mDurationRing = duration;
+            return this;
+        }
+
+        @NonNull
+        public Builder setLongClickDurationRing(int duration) {
+            mLongClickDurationRing = duration;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDurationOpen(int duration) {
+            mDurationOpen = duration;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDurationClose(int duration) {
+            mDurationClose = duration;
+            return this;
+        }
+
+        /**
+         * @param distance in pixels.
+         */
+        @NonNull
+        public Builder setDistance(float distance) {
+            mDistance = distance;
+            return this;
+        }
+
+        @NonNull
+        public Builder setRingPolyline(boolean ringPolyline) {
+            mRingPolyline = ringPolyline;
+            return this;
+        }
+
+        @NonNull
+        public Builder setItemLayout(@LayoutRes int itemLayout) {
+            mItemLayout = itemLayout;
+            return this;
+        }
+
+        @NonNull
+        public Builder setLayerPolicy(int layerPolicy) {
+            mLayerPolicy = layerPolicy;
+            return this;
+        }
+
+        @NonNull
+        public Builder setRenderMode(int renderMode) {
+            mRenderMode = renderMode;
+            return this;
+        }
+
+        @NonNull
+        public Builder setQuality(int quality) {
+            mQuality = quality;
+            return this;
+        }
+
+        @NonNull
+        public Builder setPageSize(int pageSize) {
+            mPageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * @param thickness in pixels.
+         */
+        @NonNull
+        public Builder setTouchRingThickness(float thickness) {
+            mTouchRingThickness = thickness;
+            return this;
+        }
+
+        /**
+         * @param slop in pixels.
+         */
+        @NonNull
+        public Builder setTouchSlop(float slop) {
+            mTouchSlop = slop;
+            return this;
+        }
+
+        @NonNull
+        public Builder setRotationEnabled(boolean rotationEnabled) {
+            mRotationEnabled = rotationEnabled;
+            return this;
+        }
+
+        @NonNull
+        public Builder setLazyButtons(boolean lazyButtons) {
+            mLazyButtons = lazyButtons;
+            return this;
+        }
+
+        @NonNull
+        public CircleMenuConfig build() {
+            return new CircleMenuConfig(this);
+        }
+    }
+
+    private CircleMenuConfig(@NonNull Builder builder) {
+        mButtons = builder.mIcons != null
+                ? new CircleMenuModel(builder.mIcons, builder.mColors, builder.mLabels, builder.mBadges)
+                : null;
+        mIconMenu = builder.mIconMenu;
+        mIconClose = builder.mIconClose;
+        mIconColor = builder.mIconColor;
+        mDurationRing = builder.mDurationRing;
+        mLongClickDurationRing = builder.mLongClickDurationRing;
+        mDurationOpen = builder.mDurationOpen;
+        mDurationClose = builder.mDurationClose;
+        mDistance = builder.mDistance;
+        mRingPolyline = builder.mRingPolyline;
+        mItemLayout = builder.mItemLayout;
+        mLayerPolicy = builder.mLayerPolicy;
+        mRenderMode = builder.mRenderMode;
+        mQuality = builder.mQuality;
+        mPageSize = builder.mPageSize;
+        mTouchRingThickness = builder.mTouchRingThickness;
+        mTouchSlop = builder.mTouchSlop;
+        mRotationEnabled = builder.mRotationEnabled;
+        mLazyButtons = builder.mLazyButtons;
+    }
+
+    /**
+     * Returns cached configuration for the context theme, the style and CircleMenuView attributes of attrs,
+     * parsing it on first request.
+     * @param attrs XML attributes or null for defaults.
+     */
+    @NonNull
+    @MainThread
+    public static CircleMenuConfig obtain(@NonNull Context context, @Nullable AttributeSet attrs) {
+        final Resources.Theme theme = context.getTheme();
+        HashMap<Key, CircleMenuConfig> configs = sCache.get(theme);
+        if (configs == null) {
+            configs = new HashMap<>();
+            sCache.put(theme, configs);
+        }
+
+        sLookupKey.set(attrs);
+        CircleMenuConfig config = configs.get(sLookupKey);
+        if (config == null) {
+            config = parse(context, attrs);
+            configs.put(new Key(sLookupKey), config);
+        }
+        return config;
+    }
+
+    /**
+     * Drops all cached configurations.
+     */
+    @MainThread
+    public static void clearCache() {
+        sCache.clear();
+    }
+
+    private static boolean isMenuAttribute(int name) {
+        final int[] attrs = R.styleable.CircleMenuView;
+        for (int i = 0; i < attrs.length; i++) {
+            if (attrs[i] == name) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NonNull
+    private static CircleMenuConfig parse(@NonNull Context context, @Nullable AttributeSet attrs) {
+        final Resources resources = context.getResources();
+        final Builder builder = new Builder(context);
+
+        final TypedArray a = context.getTheme().obtainStyledAttributes(attrs, R.styleable.CircleMenuView, 0, 0);
+        try {
+            final int iconArrayId = a.getResourceId(R.styleable.CircleMenuView_button_icons, 0);
+            final int colorArrayId = a.getResourceId(R.styleable.CircleMenuView_button_colors, 0);
+
+            if ((iconArrayId == 0) != (colorArrayId == 0)) {
+                throw new IllegalArgumentException("button_icons and button_colors must be declared together");
+            }
+
+            if (iconArrayId != 0) {
+                final int[] icons;
+                final TypedArray iconsIds = resources.obtainTypedArray(iconArrayId);
+                try {
+                    icons = new int[iconsIds.length()];
+                    for (int i = 0; i < icons.length; i++) {
+                        icons[i] = iconsIds.getResourceId(i, -1);
+                    }
+                } finally {
+                    iconsIds.recycle();
+                }
+
+                final int[] colors = resources.getIntArray(colorArrayId);
+                final int[] badges = new int[Math.min(icons.length, colors.length)];
+                for (int i = 0; i < badges.length; i++) {
+                    badges[i] = i % 2;
+                }
+
+                builder.mIcons = icons;
+                builder.mColors = colors;
+                builder.mLabels = a.getTextArray(R.styleable.CircleMenuView_button_labels);
+                builder.mBadges = badges;
+            }
+
+            builder.mItemLayout = a.getResourceId(R.styleable.CircleMenuView_item_layout, 0);
+            builder.mLayerPolicy = a.getInt(R.styleable.CircleMenuView_layer_policy, builder.mLayerPolicy);
+            builder.mRenderMode = a.getInt(R.styleable.CircleMenuView_render_mode, builder.mRenderMode);
+            builder.mQuality = a.getInt(R.styleable.CircleMenuView_quality, builder.mQuality);
+            builder.mPageSize = a.getInt(R.styleable.CircleMenuView_page_size, 0);
+            builder.mIconMenu = a.getResourceId(R.styleable.CircleMenuView_icon_menu, builder.mIconMenu);
+            builder.mIconClose = a.getResourceId(R.styleable.CircleMenuView_icon_close, builder.mIconClose);
+
+            builder.mDurationRing = a.getInteger(R.styleable.CircleMenuView_duration_ring, builder.mDurationRing);
+            builder.mLongClickDurationRing = a.getInteger(R.styleable.CircleMenuView_long_click_duration_ring,
+                    builder.mLongClickDurationRing);
+            builder.mDurationOpen = a.getInteger(R.styleable.CircleMenuView_duration_open, builder.mDurationOpen);
+            builder.mDurationClose = a.getInteger(R.styleable.CircleMenuView_duration_close, builder.mDurationClose);
+
+            builder.mDistance = a.getDimension(R.styleable.CircleMenuView_distance, builder.mDistance);
+            builder.mTouchRingThickness = a.getDimension(R.styleable.CircleMenuView_touch_ring_thickness,
+                    builder.mTouchRingThickness);
+            builder.mTouchSlop = a.getDimension(R.styleable.CircleMenuView_touch_slop, builder.mTouchSlop);
+            builder.mRotationEnabled = a.getBoolean(R.styleable.CircleMenuView_rotation_enabled, false);
+            builder.mLazyButtons = a.getBoolean(R.styleable.CircleMenuView_lazy_buttons, false);
+
+            builder.mIconColor = a.getColor(R.styleable.CircleMenuView_icon_color, builder.mIconColor);
+            builder.mRingPolyline = a.getBoolean(R.styleable.CircleMenuView_ring_polyline, false);
+        } finally {
+            a.recycle();
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return buttons declared with button_icons, button_colors and button_labels, or null.
+     */
+    @Nullable
+    public CircleMenuModel getButtons() {
+        return mButtons;
+    }
+
+    @DrawableRes
+    public int getIconMenu() {
+        return mIconMenu;
+    }
+
+    @DrawableRes
+    public int getIconClose() {
+        return mIconClose;
+    }
+
+    @ColorInt
+    public int getIconColor() {
+        return mIconColor;
+    }
+
+    public int getDurationRing() {
+        return mDurationRing;
+    }
+
+    public int getLongClickDurationRing() {
+        return mLongClickDurationRing;
+    }
+
+    public int getDurationOpen() {
+        return mDurationOpen;
+    }
+
+    public int getDurationClose() {
+        return mDurationClose;
+    }
+
+    public float getDistance() {
+        return mDistance;
+    }
+
+    public boolean isRingPolyline() {
+        return mRingPolyline;
+    }
+
+    @LayoutRes
+    public int getItemLayout() {
+        return mItemLayout;
+    }
+
+    public int getLayerPolicy() {
+        return mLayerPolicy;
+    }
+
+    public int getRenderMode() {
+        return mRenderMode;
+    }
+
+    public int getQuality() {
+        return mQuality;
+    }
+
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    public float getTouchRingThickness() {
+        return mTouchRingThickness;
+    }
+
+    public float getTouchSlop() {
+        return mTouchSlop;
+    }
+
+    public boolean isRotationEnabled() {
+        return mRotationEnabled;
+    }
+
+    public boolean isLazyButtons() {
+        return mLazyButtons;
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.ramotion.circlemenu;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Calculates difference between two lists of buttons and dispatches it to {@link CircleMenuAdapter}
+ * as removals, insertions and changes. Moved buttons are reported as removal and insertion.
+ * <p>
+ * Adapter must already return the new list when updates are dispatched.
+ */
+public final class CircleMenuDiff {
+
+    /**
+     * Compares buttons of old and new lists.
+     */
+    public interface Callback {
+        int getOldSize();
+
+        int getNewSize();
+
+        /**
+         * @return true if both positions represent the same button, usually by comparing ids.
+         */
+        boolean areItemsTheSame(int oldPosition, int newPosition);
+
+        /**
+         * Called only for the same buttons.
+         * @return false if button must be rebound.
+         */
+        boolean areContentsTheSame(int oldPosition, int newPosition);
+    }
+
+    private CircleMenuDiff() {}
+
+    /**
+     * Dispatches difference calculated by callback to adapter.
+     * Removals are dispatched first from the end, then insertions and changes at new positions.
+     */
+    public static void dispatchUpdates(@NonNull Callback callback, @NonNull CircleMenuAdapter adapter) {
+        final int oldSize = callback.getOldSize();
+        final int newSize = callback.getNewSize();
+
+        // Longest common subsequence table, lcs[i][j] is for old[i..] and new[j..]
+        final int[][] lcs = new int[oldSize + 1][newSize + 1];
+        for (int i = oldSize - 1; i >= 0; i--) {
+            for (int j = newSize - 1; j >= 0; j--) {
+                lcs[i][j] = callback.areItemsTheSame(i, j)
+                        ? lcs[i + 1][j + 1] + 1
+                        : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        // Walk the table, matched old position for each new position or -1 for insertion
+        final boolean[] oldKept = new boolean[oldSize];
+        final int[] newToOld = new int[newSize];
+        int i = 0;
+        int j = 0;
+        while (j < newSize) {
+            if (i < oldSize && callback.areItemsTheSame(i, j)) {
+                oldKept[i] = true;
+                newToOld[j++] = i++;
+            } else if (i < oldSize && lcs[i + 1][j] >= lcs[i][j + 1]) {
+                i++;
+            } else {
+                newToOld[j++] = -1;
+            }
+        }
+
+        for (int k = oldSize - 1; k >= 0; k--) {
+            if (!oldKept[k]) {
+                adapter.notifyItemRemoved(k);
+            }
+        }
+
+        for (int k = 0; k < newSize; k++) {
+            if (newToOld[k] == -1) {
+                adapter.notifyItemInserted(k);
+            }
+        }
+
+        for (int k = 0; k < newSize; k++) {
+            final int oldPosition = newToOld[k];
+            if (oldPosition != -1 && !callback.areContentsTheSame(oldPosition, k)) {
+                adapter.notifyItemChanged(k);
+            }
+        }
+    }
+
+    /**
+     * Callback comparing lists of stable ids, contents are treated as unchanged.
+     */
+    @NonNull
+    public static Callback forIds(@NonNull final long[] oldIds, @NonNull final long[] newIds) {
+        return new Callback() {
+            @Override
+            public int getOldSize() {
+                return oldIds.length;
+            }
+
+            @Override
+            public int getNewSize() {
+                return newIds.length;
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return oldIds[oldPosition] == newIds[newPosition];
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return true;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.ramotion.circlemenu;
+
+import android.view.View;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Menu button placed around the main button of {@link CircleMenuView}.
+ * Implemented by custom drawn {@link MenuItemView} and by views inflated from
+ * {@link R.styleable#CircleMenuView_item_layout}.
+ */
+public interface CircleMenuItem {
+
+    /**
+     * @return view attached to CircleMenuView.
+     */
+    @NonNull
+    View getView();
+
+    void setIcon(@DrawableRes int iconId);
+
+    void setLabel(@Nullable CharSequence label);
+
+    /**
+     * @param count badge value, badge is hidden if count is not positive.
+     */
+    void setBadge(int count);
+
+    int getBadge();
+
+}
@@ -0,0 +1,58 @@
+package com.ramotion.circlemenu;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Buttons content for {@link CircleMenuView#bind(CircleMenuModel)}, backed by arrays.
+ * <p>
+ * Arrays are not copied. Create models once, e.g. with the data of list rows,
+ * and bind them again after their arrays change.
+ */
+public final class CircleMenuModel {
+
+    private final int[] mIcons;
+    private final int[] mColors;
+    private final CharSequence[] mLabels;
+    private final int[] mBadges;
+
+    /**
+     * @param icons buttons icons resources.
+     * @param colors buttons and their ring effect colors, buttons count is the shorter of icons and colors.
+     * @param labels buttons labels or null.
+     * @param badges buttons badges or null, badge is hidden if value is not positive.
+     */
+    public CircleMenuModel(@NonNull int[] icons, @NonNull int[] colors,
+                           @Nullable CharSequence[] labels, @Nullable int[] badges) {
+        mIcons = icons;
+        mColors = colors;
+        mLabels = labels;
+        mBadges = badges;
+    }
+
+    public int getCount() {
+        return Math.min(mIcons.length, mColors.length);
+    }
+
+    @DrawableRes
+    public int getIcon(int index) {
+        return mIcons[index];
+    }
+
+    @ColorInt
+    public int getColor(int index) {
+        return mColors[index];
+    }
+
+    @Nullable
+    public CharSequence getLabel(int index) {
+        return mLabels != null && index < mLabels.length ? mLabels[index] : null;
+    }
+
+    public int getBadge(int index) {
+        return mBadges != null && index < mBadges.length ? mBadges[index] : 0;
+    }
+
+}
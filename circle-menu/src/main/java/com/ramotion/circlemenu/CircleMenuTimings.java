@@ -0,0 +1,101 @@
+package com.ramotion.circlemenu;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Time spent by a {@link CircleMenuView} in its startup, layout and animation stages,
+ * see {@link CircleMenuView#getTimings()}. Same spans are emitted as trace sections named by
+ * {@link #getName(int)}, visible in systrace and Perfetto.
+ */
+public final class CircleMenuTimings {
+
+    /** Parsing of XML attributes, or taking them from the cache. */
+    public static final int SPAN_PARSE = 0;
+    /** Inflation of the main button and ring effect. */
+    public static final int SPAN_INIT_LAYOUT = 1;
+    /** Creation or rebinding of buttons. */
+    public static final int SPAN_BUTTONS = 2;
+    /** Measure pass. */
+    public static final int SPAN_MEASURE = 3;
+    /** Layout pass. */
+    public static final int SPAN_LAYOUT = 4;
+    /** Construction of open, close and click animations. */
+    public static final int SPAN_BUILD_ANIMATIONS = 5;
+    /** Open transition, from start to end of the animation. */
+    public static final int SPAN_OPEN = 6;
+    /** Close transition, from start to end of the animation. */
+    public static final int SPAN_CLOSE = 7;
+    /** Button click transition, from start to end of the animation. */
+    public static final int SPAN_CLICK = 8;
+
+    /** Count of spans. */
+    public static final int SPAN_COUNT = 9;
+
+    private static final String[] NAMES = {
+            "CircleMenuView#parse",
+            "CircleMenuView#initLayout",
+            "CircleMenuView#buttons",
+            "CircleMenuView#measure",
+            "CircleMenuView#layout",
+            "CircleMenuView#buildAnimations",
+            "CircleMenuView#open",
+            "CircleMenuView#close",
+            "CircleMenuView#click",
+    };
+
+    private final long[] mTotal = new long[SPAN_COUNT];
+    private final long[] mLast = new long[SPAN_COUNT];
+    private final int[] mCount = new int[SPAN_COUNT];
+
+    CircleMenuTimings() {}
+
+    CircleMenuTimings(@NonNull CircleMenuTimings other) {
+        System.arraycopy(other.mTotal, 0, mTotal, 0, SPAN_COUNT);
+        System.arraycopy(other.mLast, 0, mLast, 0, SPAN_COUNT);
+        System.arraycopy(other.mCount, 0, mCount, 0, SPAN_COUNT);
+    }
+
+    /**
+     * @return trace section name of the span.
+     */
+    @NonNull
+    public static String getName(int span) {
+        return NAMES[span];
+    }
+
+    /**
+     * @return count of recorded spans of the type.
+     */
+    public int getCount(int span) {
+        return mCount[span];
+    }
+
+    /**
+     * @return duration of all recorded spans of the type, in nanoseconds.
+     */
+    public long getTotalNanos(int span) {
+        return mTotal[span];
+    }
+
+    /**
+     * @return duration of the last recorded span of the type, in nanoseconds.
+     */
+    public long getLastNanos(int span) {
+        return mLast[span];
+    }
+
+    void add(int span, long nanos) {
+        mTotal[span] += nanos;
+        mLast[span] = nanos;
+        mCount[span]++;
+    }
+
+    void reset() {
+        for (int i = 0; i < SPAN_COUNT; i++) {
+            mTotal[i] = 0;
+            mLast[i] = 0;
+            mCount[i] = 0;
+        }
+    }
+
+}
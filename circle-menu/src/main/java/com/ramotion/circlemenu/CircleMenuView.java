@@ -3,25 +3,30 @@ package com.ramotion.circlemenu;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
-import android.animation.AnimatorSet;
-import android.animation.Keyframe;
-import android.animation.ObjectAnimator;
-import android.animation.PropertyValuesHolder;
+import android.animation.TimeInterpolator;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.ColorStateList;
-import android.content.res.TypedArray;
+import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Rect;
-import android.os.Build;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.TransitionDrawable;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.Display;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
 import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.OvershootInterpolator;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
-import android.widget.RelativeLayout;
-import android.widget.TextView;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,38 +35,238 @@ import androidx.annotation.AttrRes;
 import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.annotation.RequiresApi;
-import androidx.core.content.ContextCompat;
+import androidx.dynamicanimation.animation.DynamicAnimation;
+import androidx.dynamicanimation.animation.FlingAnimation;
+import androidx.dynamicanimation.animation.FloatPropertyCompat;
+import androidx.dynamicanimation.animation.SpringAnimation;
+import androidx.dynamicanimation.animation.SpringForce;
+import androidx.tracing.Trace;
 
 public class CircleMenuView extends FrameLayout {
 
+    /** Buttons and ring effect never use hardware layers. */
+    public static final int LAYER_POLICY_NONE = 0;
+    /** Buttons and ring effect use hardware layers while animation is running. */
+    public static final int LAYER_POLICY_ANIMATION = 1;
+    /** Buttons and ring effect always use hardware layers. */
+    public static final int LAYER_POLICY_ALWAYS = 2;
+
+    /** Every button is a child view. */
+    public static final int RENDER_MODE_VIEWS = 0;
+    /** Buttons are drawn by CircleMenuView itself, without child views. */
+    public static final int RENDER_MODE_DRAW = 1;
+
+    /** Quality tier is picked from device properties and lowered when animations drop frames. */
+    public static final int QUALITY_AUTO = -1;
+    /** No ring effect, shorter transitions without overshoot, no button shadows. */
+    public static final int QUALITY_LOW = 0;
+    /** All effects except button shadows. */
+    public static final int QUALITY_MEDIUM = 1;
+    /** All effects. */
+    public static final int QUALITY_HIGH = 2;
+
     private static final int DEFAULT_BUTTON_SIZE = 56;
-    private static final float DEFAULT_DISTANCE = DEFAULT_BUTTON_SIZE * 2f;
     private static final float DEFAULT_RING_SCALE_RATIO = 1.3f;
     private static final float DEFAULT_CLOSE_ICON_ALPHA = 0.3f;
+    private static final int DEFAULT_ITEM_SIZE = 210;
+
+    private static final FloatPropertyCompat<CircleMenuView> MENU_ROTATION =
+            new FloatPropertyCompat<CircleMenuView>("menuRotation") {
+                @Override
+                public float getValue(CircleMenuView view) {
+                    return view.getMenuRotation();
+                }
 
-    private final List<RelativeLayout> menuButtons = new ArrayList<>();
+                @Override
+                public void setValue(CircleMenuView view, float value) {
+                    view.setMenuRotation(value);
+                }
+            };
+
+    private final List<View> menuButtons = new ArrayList<>();
+    private final List<CircleMenuItem> menuItems = new ArrayList<>();
+    private final List<DrawnMenuItem> drawnItems = new ArrayList<>();
     private final Rect buttonRect = new Rect();
+    private final CircleGeometry mGeometry = new CircleGeometry();
+    private final OvershootInterpolator mOvershootInterpolator = new OvershootInterpolator();
+    // Buttons and menu button pop in with overshoot, eased in low quality
+    private TimeInterpolator mPopInterpolator = mOvershootInterpolator;
+    private final AccelerateDecelerateInterpolator mEaseInterpolator = new AccelerateDecelerateInterpolator();
+    private final BadgeStore mBadges = new BadgeStore();
+    private final CircleMenuTimings mTimings = new CircleMenuTimings();
 
     private ImageView mMenuButton;
+    private FrameLayout mButtonsContainer;
     private RingEffectView ringView;
 
+    // Settled state, or target state while open or close animation is running
     private boolean mClosedState = true;
     private boolean isAnimating = false;
 
     private int mIconMenu;
     private int mIconClose;
+    private TransitionDrawable mMenuIcon;
     private int durationRing;
     private int mLongClickDurationRing;
     private int mDurationOpen;
     private int mDurationClose;
     private int mDesiredSize;
+    private int mItemLayout;
+    private int mLayerPolicy;
+    private int mRenderMode;
+    private int mPageSize;
+    private int mPage;
+    private int mFirstPosition;
+    private int mTouchedItem = -1;
+    private float mTouchRingThickness;
+    private float mTouchSlop;
+    private boolean mRotationEnabled;
+    private float mMenuRotation;
+    private boolean mDragging;
+    private float mDownX;
+    private float mDownY;
+    private float mLastTouchAngle;
+    private float mDragSlop;
+    private float mMinFlingVelocity;
+    private VelocityTracker mVelocityTracker;
+    private FlingAnimation mFling;
+    private SpringAnimation mSnap;
+    private MenuItemPainter mPainter;
+    private int mRunningAnimations;
+    private boolean mButtonsReleased;
+    private boolean mLazyButtons;
+    private boolean mPrefetchScheduled;
+
+    private final MessageQueue.IdleHandler mPrefetchHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            mPrefetchScheduled = false;
+            ensureButtons();
+            return false;
+        }
+    };
+    private boolean mFrameStatsEnabled;
+    private int mQuality;
+    private QualityController mQualityController;
+    private FrameStatsTracker mFrameStats;
     private int ringRadius;
     private float mDistance;
-    private List<Menu> menus;
+    private CircleMenuAdapter mAdapter;
+    private ModelAdapter mModelAdapter;
+    private LayoutInflater mInflater;
 
     private EventListener mListener;
 
+    private final AnimatorListenerAdapter mLayerListener = new AnimatorListenerAdapter() {
+        @Override
+        public void onAnimationStart(Animator animation) {
+            if (mRunningAnimations++ == 0) {
+                updateButtonsLayerType();
+            }
+        }
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            if (mRunningAnimations > 0 && --mRunningAnimations == 0) {
+                updateButtonsLayerType();
+            }
+        }
+    };
+
+    private boolean mBadgeFrameScheduled;
+
+    private final BadgeStore.Target mBadgeTarget = new BadgeStore.Target() {
+        @Override
+        public void onBadgeChanged(int index, int count) {
+            final int slot = index - mFirstPosition;
+            if (slot >= 0 && slot < menuItems.size()) {
+                menuItems.get(slot).setBadge(count);
+            }
+        }
+    };
+
+    private final Choreographer.FrameCallback mBadgeFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mBadgeFrameScheduled = false;
+            if (!mButtonsReleased) {
+                mBadges.apply(mBadgeTarget);
+            }
+        }
+    };
+
+    private final CircleMenuAdapter.Observer mAdapterObserver = new CircleMenuAdapter.Observer() {
+        @Override
+        public void onChanged() {
+            // Badges may be set while buttons are released, e.g. in a detached RecyclerView row
+            mBadges.setCount(getItemCount());
+            if (!mButtonsReleased) {
+                syncButtons();
+            }
+        }
+
+        @Override
+        public void onItemChanged(int position) {
+            final int slot = position - mFirstPosition;
+            if (!mButtonsReleased && slot >= 0 && slot < menuItems.size()) {
+                bindButton(slot);
+            }
+        }
+
+        @Override
+        public void onItemInserted(int position) {
+            mBadges.insert(position);
+            if (mButtonsReleased) {
+                return;
+            }
+
+            if (mPageSize > 0) {
+                // Insertion shifts buttons across pages
+                syncButtons();
+            } else {
+                addButton(position);
+                onButtonsCountChanged();
+            }
+        }
+
+        @Override
+        public void onItemRemoved(int position) {
+            mBadges.remove(position);
+            if (mButtonsReleased) {
+                return;
+            }
+
+            if (mPageSize > 0) {
+                syncButtons();
+            } else {
+                removeButton(position);
+                onButtonsCountChanged();
+            }
+        }
+    };
+    private AnimatorListenerAdapter mMenuAnimationListener;
+
+    private Animator mOpenAnimation;
+    private Animator mCloseAnimation;
+    private Animator mClickAnimation;
+    private View mClickedButton;
+    // Button index of clicked button, adapter position is shifted by mFirstPosition
+    private int mClickedIndex = -1;
+    private float mClickPivotX;
+    private float mClickPivotY;
+    private float mClickTranslationX;
+    private float mClickTranslationY;
+    // Clicked button drift from counter-rotation, see getButtonClickAnimation
+    private float mClickDriftX;
+    private float mClickDriftY;
+    private float mOpenCenterX;
+    private float mOpenCenterY;
+    private boolean mCloseIconSet;
+    // Running open or close animation plays backwards, towards the state it started from
+    private boolean mMenuReversed;
+    private boolean mCloseIconPhase;
+    private boolean mClickRingPhase;
+    private boolean mSkipClickAnimation;
+
 
 
     /**
@@ -76,6 +281,7 @@ public class CircleMenuView extends FrameLayout {
 
         /**
          * Invoked on menu button click, after animation end.
+         * Also invoked when opening is reversed, before {@link #onMenuCloseAnimationStart(CircleMenuView)}.
          * @param view - current CircleMenuView instance.
          */
         public void onMenuOpenAnimationEnd(@NonNull CircleMenuView view) {}
@@ -88,10 +294,19 @@ public class CircleMenuView extends FrameLayout {
 
         /**
          * Invoked on close menu button click, after animation end.
+         * Also invoked when closing is reversed, before {@link #onMenuOpenAnimationStart(CircleMenuView)}.
          * @param view - current CircleMenuView instance.
          */
         public void onMenuCloseAnimationEnd(@NonNull CircleMenuView view) {}
 
+        /**
+         * Invoked on button touch up, before click animation is prepared.
+         * Call {@link CircleMenuView#skipClickAnimation()} here to close menu without ring effect.
+         * @param view - current CircleMenuView instance.
+         * @param buttonIndex - selected button zero-based index.
+         */
+        public void onItemSelected(@NonNull CircleMenuView view, int buttonIndex) {}
+
         /**
          * Invoked on button click, before animation start.
          * @param view - current CircleMenuView instance.
@@ -105,127 +320,184 @@ public class CircleMenuView extends FrameLayout {
          * @param buttonIndex - clicked button zero-based index.
          */
         public void onButtonClickAnimationEnd(@NonNull CircleMenuView view, int buttonIndex) {}
+
+        /**
+         * Invoked after open, close or ring animation end, if frame statistics are enabled.
+         * See {@link CircleMenuView#setFrameStatsEnabled(boolean)}.
+         * @param view - current CircleMenuView instance.
+         * @param stats - frame statistics of finished animation.
+         */
+        public void onAnimationStats(@NonNull CircleMenuView view, @NonNull AnimationStats stats) {}
     }
 
-    private class OnButtonClickListener implements View.OnClickListener {
-        @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    /**
+     * Records transition duration and marks it as an async trace section.
+     */
+    private class TransitionSpanListener extends AnimatorListenerAdapter {
+        private final int mSpan;
+        private long mStart;
+
+        TransitionSpanListener(int span) {
+            mSpan = span;
+        }
+
         @Override
-        public void onClick(final View view) {
-            if (isAnimating) {
-                return;
-            }
-            durationRing = 0;
-            final Animator click = getButtonClickAnimation((RelativeLayout)view);
-            click.setDuration(durationRing);
-            click.addListener(new AnimatorListenerAdapter() {
-                @Override
-                public void onAnimationStart(Animator animation) {
-                    if (mListener != null) {
-                        mListener.onButtonClickAnimationStart(CircleMenuView.this, menuButtons.indexOf(view));
-                    }
-                }
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    mClosedState = true;
-                    if (mListener != null) {
-                        mListener.onButtonClickAnimationEnd(CircleMenuView.this, menuButtons.indexOf(view));
-                    }
-                }
-            });
-            click.start();
+        public void onAnimationStart(Animator animation) {
+            mStart = System.nanoTime();
+            Trace.beginAsyncSection(CircleMenuTimings.getName(mSpan), System.identityHashCode(animation));
         }
-    }
 
-    public CircleMenuView(@NonNull Context context, @Nullable AttributeSet attrs) {
-        this(context, attrs, 0);
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            Trace.endAsyncSection(CircleMenuTimings.getName(mSpan), System.identityHashCode(animation));
+            mTimings.add(mSpan, System.nanoTime() - mStart);
+        }
     }
 
-    public CircleMenuView(@NonNull Context context, @Nullable AttributeSet attrs, @AttrRes int defStyleAttr) {
-        super(context, attrs, defStyleAttr);
+    private class FrameStatsListener extends AnimatorListenerAdapter {
+        private final int mType;
 
-        if (attrs == null) {
-            throw new IllegalArgumentException("No buttons icons or colors set");
+        FrameStatsListener(int type) {
+            mType = type;
         }
 
-        final int menuButtonColor;
-        final List<Integer> icons;
-        final List<Integer> colors;
-        final List<Integer> labels;
-
-        final TypedArray a = context.getTheme().obtainStyledAttributes(attrs, R.styleable.CircleMenuView, 0, 0);
-        try {
-            final int iconArrayId = a.getResourceId(R.styleable.CircleMenuView_button_icons, 0);
-            final int colorArrayId = a.getResourceId(R.styleable.CircleMenuView_button_colors, 0);
-            final CharSequence[] labelsArrayId = a.getTextArray(R.styleable.CircleMenuView_button_labels);
-
-            final TypedArray iconsIds = getResources().obtainTypedArray(iconArrayId);
-            try {
-                final int[] colorsIds = getResources().getIntArray(colorArrayId);
-                final int buttonsCount = Math.min(iconsIds.length(), colorsIds.length);
+        @Override
+        public void onAnimationStart(Animator animation) {
+            if (!mFrameStatsEnabled && !isQualityAdaptive()) {
+                return;
+            }
 
-                icons = new ArrayList<>(buttonsCount);
-                colors = new ArrayList<>(buttonsCount);
-                menus = new ArrayList<>();
+            if (mFrameStats == null) {
+                mFrameStats = new FrameStatsTracker();
+            }
+            final Display display = getDisplay();
+            final float refreshRate = display != null ? display.getRefreshRate() : 0f;
+            mFrameStats.start(mType, animation.getTotalDuration(), refreshRate);
+        }
 
-                for (int i = 0; i < buttonsCount; i++) {
-                    icons.add(iconsIds.getResourceId(i, -1));
-                    colors.add(colorsIds[i]);
-                    menus.add(new Menu(iconsIds.getResourceId(i, -1), labelsArrayId[i].toString(), i%2));
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            if (mFrameStats == null || !mFrameStats.isRunning()) {
+                return;
+            }
 
-                }
-            } finally {
-                iconsIds.recycle();
+            final AnimationStats stats = mFrameStats.stop();
+            if (mQualityController.onAnimationStats(stats)) {
+                applyQuality();
+            }
+            if (mFrameStatsEnabled && mListener != null) {
+                mListener.onAnimationStats(CircleMenuView.this, stats);
             }
+        }
+    }
+
+    /**
+     * Creates menu without buttons, set them with {@link #bind(CircleMenuModel)} or {@link #setAdapter(CircleMenuAdapter)}.
+     */
+    public CircleMenuView(@NonNull Context context) {
+        this(context, (AttributeSet) null);
+    }
 
-            mIconMenu = a.getResourceId(R.styleable.CircleMenuView_icon_menu, R.drawable.ic_menu_black_24dp);
-            mIconClose = a.getResourceId(R.styleable.CircleMenuView_icon_close, R.drawable.ic_close_black_24dp);
+    public CircleMenuView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
 
-            durationRing = a.getInteger(R.styleable.CircleMenuView_duration_ring, getResources().getInteger(android.R.integer.config_mediumAnimTime));
-            mLongClickDurationRing = a.getInteger(R.styleable.CircleMenuView_long_click_duration_ring, getResources().getInteger(android.R.integer.config_longAnimTime));
-            mDurationOpen = a.getInteger(R.styleable.CircleMenuView_duration_open, getResources().getInteger(android.R.integer.config_mediumAnimTime));
-            mDurationClose = a.getInteger(R.styleable.CircleMenuView_duration_close, getResources().getInteger(android.R.integer.config_mediumAnimTime));
+    public CircleMenuView(@NonNull Context context, @Nullable AttributeSet attrs, @AttrRes int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        final long start = beginSpan(CircleMenuTimings.SPAN_PARSE);
+        final CircleMenuConfig config = CircleMenuConfig.obtain(context, attrs);
+        endSpan(CircleMenuTimings.SPAN_PARSE, start);
+        init(context, config);
+    }
 
-            final float density = context.getResources().getDisplayMetrics().density;
-            final float defaultDistance = DEFAULT_DISTANCE * density;
-            mDistance = a.getDimension(R.styleable.CircleMenuView_distance, defaultDistance);
+    /**
+     * Creates menu from configuration built in code or shared by several menus.
+     */
+    public CircleMenuView(@NonNull Context context, @NonNull CircleMenuConfig config) {
+        super(context);
+        init(context, config);
+    }
 
-            menuButtonColor = a.getColor(R.styleable.CircleMenuView_icon_color, Color.WHITE);
-        } finally {
-            a.recycle();
+    private void init(@NonNull Context context, @NonNull CircleMenuConfig config) {
+        final CircleMenuModel buttons = config.getButtons();
+        if (buttons != null) {
+            // Buttons arrays are shared with other menus of the same configuration
+            mModelAdapter = new ModelAdapter();
+            mModelAdapter.setModel(buttons);
+            mAdapter = mModelAdapter;
         }
 
+        mItemLayout = config.getItemLayout();
+        mLayerPolicy = config.getLayerPolicy();
+        mRenderMode = config.getRenderMode();
+        mQuality = config.getQuality();
+        mPageSize = config.getPageSize();
+        mIconMenu = config.getIconMenu();
+        mIconClose = config.getIconClose();
+
+        durationRing = config.getDurationRing();
+        mLongClickDurationRing = config.getLongClickDurationRing();
+        mDurationOpen = config.getDurationOpen();
+        mDurationClose = config.getDurationClose();
+        mDistance = config.getDistance();
+
+        mTouchRingThickness = config.getTouchRingThickness();
+        mTouchSlop = config.getTouchSlop();
+        mRotationEnabled = config.isRotationEnabled();
+        mLazyButtons = config.isLazyButtons();
+
         initLayout(context);
-        initMenu(menuButtonColor);
-        initButtons(context, icons, colors);
+        initQuality();
+        ringView.setPolylineMode(config.isRingPolyline());
+        setLayerType(ringView, getLayerType(false));
+        initMenu(config.getIconColor());
+        if (mAdapter != null) {
+            mAdapter.registerObserver(mAdapterObserver);
+        }
+        // Badges follow the adapter, buttons of a lazy menu may not exist yet
+        mBadges.setCount(getItemCount());
+        if (mLazyButtons) {
+            // Created on first open or at idle after attach
+            mButtonsReleased = true;
+        } else {
+            syncButtons();
+        }
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-
+        final long start = beginSpan(CircleMenuTimings.SPAN_MEASURE);
         final int w = resolveSizeAndState(mDesiredSize, widthMeasureSpec, 0);
         final int h = resolveSizeAndState(mDesiredSize, heightMeasureSpec, 0);
-
         setMeasuredDimension(w, h);
+
+        // Children depend only on own size. With the same exact specs every time, unchanged children
+        // hit their measure cache, and match_parent ones are not measured twice as in FrameLayout
+        final int childWidthSpec = MeasureSpec.makeMeasureSpec(getMeasuredWidth(), MeasureSpec.EXACTLY);
+        final int childHeightSpec = MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.EXACTLY);
+        for (int i = 0, cnt = getChildCount(); i < cnt; i++) {
+            final View child = getChildAt(i);
+            if (child.getVisibility() != GONE) {
+                measureChildWithMargins(child, childWidthSpec, 0, childHeightSpec, 0);
+            }
+        }
+        endSpan(CircleMenuTimings.SPAN_MEASURE, start);
     }
 
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        final long start = beginSpan(CircleMenuTimings.SPAN_LAYOUT);
         super.onLayout(changed, left, top, right, bottom);
 
-        if (!changed && isAnimating) {
-            return;
+        if (changed || !isAnimating) {
+            ringView.setStrokeWidth(buttonRect.width());
+            ringView.setRadius(ringRadius);
         }
-
-        ringView.setStrokeWidth(buttonRect.width());
-        ringView.setRadius(ringRadius);
-
-        final LayoutParams lp = (LayoutParams) ringView.getLayoutParams();
-        lp.width = right - left;
-        lp.height = bottom - top;
+        endSpan(CircleMenuTimings.SPAN_LAYOUT, start);
     }
 
     private void initLayout(@NonNull Context context) {
+        final long start = beginSpan(CircleMenuTimings.SPAN_INIT_LAYOUT);
         LayoutInflater.from(context).inflate(R.layout.circle_menu, this, true);
 
         setWillNotDraw(true);
@@ -239,278 +511,1188 @@ public class CircleMenuView extends FrameLayout {
         mDesiredSize = (int) (ringRadius * 2 * DEFAULT_RING_SCALE_RATIO);
 
         ringView = findViewById(R.id.ring_view);
+        // Ring view measures to the ring, radius must be known before the first layout
+        ringView.setRadius(ringRadius);
+        mButtonsContainer = findViewById(R.id.circle_menu_buttons);
+
+        final ViewConfiguration configuration = ViewConfiguration.get(context);
+        mDragSlop = configuration.getScaledTouchSlop();
+        mMinFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        endSpan(CircleMenuTimings.SPAN_INIT_LAYOUT, start);
     }
 
     private void initMenu(int menuButtonColor) {
-        final AnimatorListenerAdapter animListener = new AnimatorListenerAdapter() {
+        mMenuAnimationListener = new AnimatorListenerAdapter() {
             @Override
             public void onAnimationStart(Animator animation) {
-                if (mListener != null) {
-                    if (mClosedState) {
-                        mListener.onMenuOpenAnimationStart(CircleMenuView.this);
-                    } else {
-                        mListener.onMenuCloseAnimationStart(CircleMenuView.this);
-                    }
-                }
+                dispatchMenuAnimationStart();
             }
             @Override
             public void onAnimationEnd(Animator animation) {
-                if (mListener != null) {
-                    if (mClosedState) {
-                        mListener.onMenuOpenAnimationEnd(CircleMenuView.this);
-                    } else {
-                        mListener.onMenuCloseAnimationEnd(CircleMenuView.this);
-                    }
-                }
-
-                mClosedState = !mClosedState;
+                dispatchMenuAnimationEnd();
             }
         };
 
         mMenuButton = findViewById(R.id.circle_menu_main_button);
-        mMenuButton.setImageResource(mIconMenu);
+        updateMenuIcon();
         mMenuButton.setBackgroundTintList(ColorStateList.valueOf(menuButtonColor));
         mMenuButton.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View view) {
-                if (isAnimating) {
+                if (isClickAnimationRunning()) {
+                    return;
+                }
+
+                stopRotation();
+                // Graph dropped by duration or quality change, see invalidateAnimations, can't be reversed
+                if (reverseMenuAnimation() || isAnimating) {
                     return;
                 }
 
-                final Animator animation = mClosedState ? getOpenMenuAnimation() : getCloseMenuAnimation();
-                animation.setDuration(mClosedState ? mDurationClose : mDurationOpen);
-                animation.addListener(animListener);
-                animation.start();
+                if (mClosedState) {
+                    ensureButtons();
+                    getOpenMenuAnimation().start();
+                } else {
+                    getCloseMenuAnimation().start();
+                }
             }
         });
     }
 
-    private void initButtons(@NonNull Context context, @NonNull List<Integer> icons, @NonNull List<Integer> colors) {
-        final int buttonsCount = Math.min(icons.size(), colors.size());
-        for (int i = 0; i < buttonsCount; i++) {
-            RelativeLayout  relativeLayout;
-            LayoutInflater inflater1 = (LayoutInflater) getContext().getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-            relativeLayout = (RelativeLayout) inflater1.inflate(R.layout.floating_layout, null);
-            TextView tvLabel = relativeLayout.findViewById(R.id.tv_menu);
-            ImageView ivMenu = relativeLayout.findViewById(R.id.iv_menu);
-            TextView tvBadge = relativeLayout.findViewById(R.id.tv_badge);
-            Menu menu = menus.get(i);
-            tvLabel.setText(menu.title);
-            ivMenu.setImageResource(menu.res);
-            tvBadge.setText(String.valueOf(menu.badge));
-            tvBadge.setVisibility(menu.badge > 0 ? VISIBLE : INVISIBLE);
-            tvBadge.setBackground(ContextCompat.getDrawable(context, R.drawable.bg_badge_blue));
-
-            int rect = 210;
-            relativeLayout.setLayoutParams(new LayoutParams(rect, rect));
-            relativeLayout.setScaleX(0);
-            relativeLayout.setScaleY(0);
-            relativeLayout.setOnClickListener(new OnButtonClickListener());
-            addView(relativeLayout);
-            menuButtons.add(relativeLayout);
-        }
-    }
-
-    public void updateBadge(int[] badges) {
-        for (int i = 0; i < badges.length-1; i++) {
-            int count = badges[i];
-            TextView tvBadge = menuButtons.get(i).findViewById(R.id.tv_badge);
-            tvBadge.setText(String.valueOf(count));
-            tvBadge.setVisibility(count > 0 ? VISIBLE : INVISIBLE);
-            invalidate();
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (!mButtonsReleased) {
+            return;
         }
 
-        open(true);
+        if (mLazyButtons && mClosedState) {
+            schedulePrefetch();
+        } else {
+            ensureButtons();
+        }
     }
-    private void offsetAndScaleButtons(float centerX, float centerY, float angleStep, float offset, float scale) {
-        for (int i = 0, cnt = menuButtons.size(); i < cnt; i++) {
-            final float angle = angleStep * i - 90;
-            final float x = (float) Math.cos(Math.toRadians(angle)) * offset;
-            final float y = (float) Math.sin(Math.toRadians(angle)) * offset;
 
-            final View button = menuButtons.get(i);
-            button.setX(centerX + x);
-            button.setY(centerY + y);
-            button.setScaleX(1.0f * scale);
-            button.setScaleY(1.0f * scale);
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        stopRotation();
+        mDragging = false;
+        recycleVelocityTracker();
+        cancelPrefetch();
+
+        if (mItemLayout == 0 && mRenderMode == RENDER_MODE_VIEWS && mClosedState && !isAnimating
+                && canRecycleButtons()) {
+            releaseButtons();
         }
     }
 
-    private Animator getButtonClickAnimation(final @NonNull RelativeLayout button) {
-        final int buttonNumber = menuButtons.indexOf(button) + 1;
-        final float stepAngle = 360f / menuButtons.size();
-        final float rOStartAngle = (270 - stepAngle + stepAngle * buttonNumber);
-        final float rStartAngle = rOStartAngle > 360 ? rOStartAngle % 360 : rOStartAngle;
+    /**
+     * @return true if every button can go back to {@link MenuItemPool}. Otherwise all buttons are kept by the menu,
+     * so none of them is dropped and created again on next attach.
+     */
+    private boolean canRecycleButtons() {
+        if (menuItems.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0, cnt = menuItems.size(); i < cnt; i++) {
+            final CircleMenuItem item = menuItems.get(i);
+            if (!(item instanceof MenuItemView) || !MenuItemPool.isRecyclable((MenuItemView) item)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        final float x = (float) Math.cos(Math.toRadians(rStartAngle)) * mDistance;
-        final float y = (float) Math.sin(Math.toRadians(rStartAngle)) * mDistance;
+    /**
+     * Matches buttons count with adapter items of the current page, reusing existing buttons,
+     * and rebinds all of them.
+     */
+    private void syncButtons() {
+        final long start = beginSpan(CircleMenuTimings.SPAN_BUTTONS);
+        final int itemCount = getItemCount();
+
+        final int count;
+        if (mPageSize > 0) {
+            mPage = Math.max(0, Math.min(mPage, getPageCount() - 1));
+            mFirstPosition = mPage * mPageSize;
+            count = Math.min(mPageSize, itemCount - mFirstPosition);
+        } else {
+            mPage = 0;
+            mFirstPosition = 0;
+            count = itemCount;
+        }
 
-        final float pivotX = button.getPivotX();
-        final float pivotY = button.getPivotY();
-        button.setPivotX(pivotX - x);
-        button.setPivotY(pivotY - y);
+        while (menuItems.size() > count) {
+            removeButton(menuItems.size() - 1);
+        }
 
-        final ObjectAnimator rotateButton = ObjectAnimator.ofFloat(button, "rotation", 0f, 360f);
-        rotateButton.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                button.setPivotX(pivotX);
-                button.setPivotY(pivotY);
+        for (int i = 0; i < count; i++) {
+            if (i < menuItems.size()) {
+                bindButton(i);
+            } else {
+                addButton(i);
             }
-        });
+        }
 
-        ringView.setVisibility(View.INVISIBLE);
-        ringView.setStartAngle(rStartAngle);
+        onButtonsCountChanged();
+        endSpan(CircleMenuTimings.SPAN_BUTTONS, start);
+    }
 
-        final ColorStateList csl = button.getBackgroundTintList();
-        if (csl != null) {
-            ringView.setStrokeColor(csl.getDefaultColor());
+    private void addButton(int position) {
+        finishClickAnimation();
+        if (mRenderMode == RENDER_MODE_DRAW) {
+            final DrawnMenuItem item = new DrawnMenuItem(this, getPainter(), DEFAULT_ITEM_SIZE);
+            item.setScale(mClosedState ? 0 : 1f);
+            drawnItems.add(position, item);
+            menuItems.add(position, item);
+            bindButton(position);
+            invalidate();
+            return;
         }
 
-        final ObjectAnimator ring = ObjectAnimator.ofFloat(ringView, "angle", 360);
-        final ObjectAnimator scaleX = ObjectAnimator.ofFloat(ringView, "scaleX", 1f, DEFAULT_RING_SCALE_RATIO);
-        final ObjectAnimator scaleY = ObjectAnimator.ofFloat(ringView, "scaleY", 1f, DEFAULT_RING_SCALE_RATIO);
-        final ObjectAnimator visible = ObjectAnimator.ofFloat(ringView, "alpha", 1f, 0f);
+        final CircleMenuItem item;
+        if (mItemLayout != 0) {
+            if (mInflater == null) {
+                mInflater = LayoutInflater.from(getContext());
+            }
+            item = new LayoutMenuItem(mInflater.inflate(mItemLayout, mButtonsContainer, false));
+        } else {
+            item = MenuItemPool.getDefault().obtain(getContext());
+        }
 
-        final AnimatorSet lastSet = new AnimatorSet();
-        lastSet.playTogether(scaleX, scaleY, visible, getCloseMenuAnimation());
+        final View button = item.getView();
+        button.setLayoutParams(new LayoutParams(DEFAULT_ITEM_SIZE, DEFAULT_ITEM_SIZE));
+        button.setScaleX(mClosedState ? 0 : 1f);
+        button.setScaleY(mClosedState ? 0 : 1f);
+        setLayerType(button, getLayerType(mRunningAnimations > 0));
+        if (item instanceof MenuItemView) {
+            button.setElevation(getButtonElevation());
+        }
+        // Buttons counter-rotate around their circle, so icons stay upright while menu is spun
+        button.setPivotX(getItemCenterX());
+        button.setPivotY(DEFAULT_ITEM_SIZE / 2f);
+        button.setRotation(-mMenuRotation);
+        mButtonsContainer.addView(button);
+        menuButtons.add(position, button);
+        menuItems.add(position, item);
+
+        bindButton(position);
+    }
 
-        final AnimatorSet firstSet = new AnimatorSet();
-        firstSet.playTogether(rotateButton, ring);
+    /**
+     * @param slot button index, adapter position is shifted by the first position of the current page.
+     */
+    private void bindButton(int slot) {
+        final CircleMenuItem item = menuItems.get(slot);
+        final int position = mFirstPosition + slot;
+        mAdapter.onBindItem(item, position);
+        // Model colors are button colors, custom adapters keep the item_color style
+        if (mAdapter == mModelAdapter) {
+            final int color = mAdapter.getItemColor(position);
+            if (item instanceof MenuItemView) {
+                ((MenuItemView) item).setColor(color);
+            } else if (item instanceof DrawnMenuItem) {
+                ((DrawnMenuItem) item).setColor(color);
+            }
+        }
 
-        final AnimatorSet result = new AnimatorSet();
-        result.play(firstSet).before(lastSet);
-        result.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationStart(Animator animation) {
-                isAnimating = true;
+        final int badge = mBadges.onBound(position, item.getBadge());
+        if (badge != BadgeStore.UNSET) {
+            item.setBadge(badge);
+        }
+    }
 
-                for (View b : menuButtons) {
-                    if (b != button) {
-//                        ((RelativeLayout) b).setCompatElevation(0);
-                    }
-                }
+    private void removeButton(int position) {
+        finishClickAnimation();
+        if (mRenderMode == RENDER_MODE_DRAW) {
+            drawnItems.remove(position);
+            menuItems.remove(position);
+            invalidate();
+            return;
+        }
 
-                ringView.setScaleX(1f);
-                ringView.setScaleY(1f);
-                ringView.setVisibility(View.VISIBLE);
-            }
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                isAnimating = false;
-            }
-        });
+        final View button = menuButtons.remove(position);
+        final CircleMenuItem item = menuItems.remove(position);
+        mButtonsContainer.removeView(button);
+        if (item instanceof MenuItemView) {
+            MenuItemPool.getDefault().recycle((MenuItemView) item);
+        }
+    }
 
-        return result;
+    /**
+     * Recomputes geometry after insertion or removal, open menu places buttons at once.
+     */
+    private void onButtonsCountChanged() {
+        mGeometry.setup(menuItems.size(), mDistance);
+
+        if (!mClosedState && !isAnimating) {
+            offsetAndScaleButtons(mMenuButton.getX(), mMenuButton.getY(), mDistance, 1f);
+        }
     }
 
-    private Animator getOpenMenuAnimation() {
-        final ObjectAnimator alphaAnimation = ObjectAnimator.ofFloat(mMenuButton, "alpha", DEFAULT_CLOSE_ICON_ALPHA);
+    /**
+     * Creates buttons released on detach or deferred by {@link R.styleable#CircleMenuView_lazy_buttons}.
+     */
+    private void ensureButtons() {
+        cancelPrefetch();
+        if (mButtonsReleased) {
+            mButtonsReleased = false;
+            syncButtons();
+        }
+    }
 
-        final Keyframe kf0 = Keyframe.ofFloat(0f, 0f);
-        final Keyframe kf1 = Keyframe.ofFloat(0.5f, 60f);
-        final Keyframe kf2 = Keyframe.ofFloat(1f, 0f);
+    private void schedulePrefetch() {
+        if (!mPrefetchScheduled) {
+            mPrefetchScheduled = true;
+            Looper.myQueue().addIdleHandler(mPrefetchHandler);
+        }
+    }
 
-        final PropertyValuesHolder pvhRotation = PropertyValuesHolder.ofKeyframe("rotation", kf0, kf1, kf2);
-        final ObjectAnimator rotateAnimation = ObjectAnimator.ofPropertyValuesHolder(mMenuButton, pvhRotation);
-        rotateAnimation.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            private boolean iconChanged = false;
-            @Override
-            public void onAnimationUpdate(ValueAnimator valueAnimator) {
-                final float fraction = valueAnimator.getAnimatedFraction();
-                if (fraction >= 0.5f && !iconChanged) {
-                    iconChanged = true;
-                    mMenuButton.setImageResource(mIconClose);
-                }
-            }
-        });
+    private void cancelPrefetch() {
+        if (mPrefetchScheduled) {
+            mPrefetchScheduled = false;
+            Looper.myQueue().removeIdleHandler(mPrefetchHandler);
+        }
+    }
 
-        final float centerX = mMenuButton.getX();
-        final float centerY = mMenuButton.getY();
+    /**
+     * Returns detached buttons to {@link MenuItemPool}, they are taken back on next attach.
+     */
+    private void releaseButtons() {
+        finishClickAnimation();
+        mClickedButton = null;
 
-        final int buttonsCount = menuButtons.size();
-        final float angleStep = 360f / buttonsCount;
+        for (int i = menuItems.size() - 1; i >= 0; i--) {
+            removeButton(i);
+        }
+        mButtonsReleased = true;
+    }
 
-        final ValueAnimator buttonsAppear = ValueAnimator.ofFloat(0f, mDistance);
-        buttonsAppear.setInterpolator(new OvershootInterpolator());
-        buttonsAppear.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationStart(Animator animation) {
-                for (View view: menuButtons) {
-                    view.setVisibility(View.VISIBLE);
-                }
-            }
-        });
-        buttonsAppear.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator valueAnimator) {
-                final float fraction = valueAnimator.getAnimatedFraction();
-                final float value = (float)valueAnimator.getAnimatedValue();
-                offsetAndScaleButtons(centerX, centerY, angleStep, value, fraction);
-            }
-        });
+    private void onButtonClick(int index) {
+        if (isAnimating) {
+            return;
+        }
 
-        final AnimatorSet result = new AnimatorSet();
-        result.playTogether(alphaAnimation, rotateAnimation, buttonsAppear);
-        result.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationStart(Animator animation) {
-                isAnimating = true;
-            }
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                isAnimating = false;
+        mSkipClickAnimation = false;
+        if (mListener != null) {
+            mListener.onItemSelected(this, mFirstPosition + index);
+            // Listener may have changed menu state or buttons
+            if (isAnimating || mClosedState || index >= menuItems.size()) {
+                return;
             }
-        });
+        }
 
-        return result;
+        final Animator animation = getButtonClickAnimation(index);
+        animation.start();
+        if (mSkipClickAnimation) {
+            animation.end();
+        }
     }
 
-    private Animator getCloseMenuAnimation() {
-        final ObjectAnimator scaleX1 = ObjectAnimator.ofFloat(mMenuButton, "scaleX", 0f);
-        final ObjectAnimator scaleY1 = ObjectAnimator.ofFloat(mMenuButton, "scaleY", 0f);
-        final ObjectAnimator alpha1 = ObjectAnimator.ofFloat(mMenuButton, "alpha", 0f);
-        final AnimatorSet set1 = new AnimatorSet();
-        set1.playTogether(scaleX1, scaleY1, alpha1);
-        set1.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationStart(Animator animation) {
-                for (View view: menuButtons) {
-                    view.setVisibility(View.INVISIBLE);
-                }
-            }
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                mMenuButton.setRotation(60f);
-                mMenuButton.setImageResource(mIconMenu);
-            }
-        });
+    /**
+     * Finishes running button click animation at once, menu gets closed.
+     * If called from {@link EventListener#onItemSelected(CircleMenuView, int)},
+     * click animation of the selected button is skipped.
+     */
+    public void skipClickAnimation() {
+        if (isClickAnimationRunning()) {
+            mClickAnimation.end();
+        } else {
+            mSkipClickAnimation = true;
+        }
+    }
 
-        final ObjectAnimator angle = ObjectAnimator.ofFloat(mMenuButton, "rotation", 0);
-        final ObjectAnimator alpha2 = ObjectAnimator.ofFloat(mMenuButton, "alpha", 1f);
-        final ObjectAnimator scaleX2 = ObjectAnimator.ofFloat(mMenuButton, "scaleX", 1f);
-        final ObjectAnimator scaleY2 = ObjectAnimator.ofFloat(mMenuButton, "scaleY", 1f);
-        final AnimatorSet set2 = new AnimatorSet();
-        set2.setInterpolator(new OvershootInterpolator());
-        set2.playTogether(angle, alpha2, scaleX2, scaleY2);
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
 
-        final AnimatorSet result = new AnimatorSet();
-        result.play(set1).before(set2);
+        if (drawnItems.isEmpty()) {
+            return;
+        }
+
+        final int save = canvas.save();
+        canvas.rotate(mMenuRotation, getHitCenterX(), getHitCenterY());
+        for (int i = 0, cnt = drawnItems.size(); i < cnt; i++) {
+            drawnItems.get(i).draw(canvas, -mMenuRotation);
+        }
+        canvas.restoreToCount(save);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (mClosedState || isAnimating) {
+            return super.onTouchEvent(event);
+        }
+
+        final float x = event.getX();
+        final float y = event.getY();
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mTouchedItem = findButtonAt(x, y);
+                if (!mRotationEnabled) {
+                    return mTouchedItem != -1;
+                }
+                // Touches off the ring stay with the parent, e.g. a scrolling list
+                if (mTouchedItem == -1 && !isInRing(x, y)) {
+                    return false;
+                }
+
+                // Touch stops spinning menu, spinning may continue from here with a drag
+                stopRotation();
+                mDragging = false;
+                mDownX = x;
+                mDownY = y;
+                mLastTouchAngle = getTouchAngle(x, y);
+                recycleVelocityTracker();
+                mVelocityTracker = VelocityTracker.obtain();
+                mVelocityTracker.addMovement(event);
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                if (mVelocityTracker == null) {
+                    return true;
+                }
+
+                mVelocityTracker.addMovement(event);
+                if (!mDragging && Math.hypot(x - mDownX, y - mDownY) > mDragSlop) {
+                    mDragging = true;
+                    mTouchedItem = -1;
+                    getParent().requestDisallowInterceptTouchEvent(true);
+                }
+                if (mDragging) {
+                    final float angle = getTouchAngle(x, y);
+                    // Shortest way, so crossing the -180/180 border does not spin menu around
+                    float delta = angle - mLastTouchAngle;
+                    if (delta > 180f) {
+                        delta -= 360f;
+                    } else if (delta < -180f) {
+                        delta += 360f;
+                    }
+                    mLastTouchAngle = angle;
+                    setMenuRotation(mMenuRotation + delta);
+                }
+                return true;
+            case MotionEvent.ACTION_UP:
+                if (mDragging) {
+                    mVelocityTracker.addMovement(event);
+                    fling(x, y);
+                } else {
+                    final int index = findButtonAt(x, y);
+                    if (index != -1 && index == mTouchedItem) {
+                        onButtonClick(index);
+                    } else if (mRotationEnabled) {
+                        snapRotation();
+                    }
+                }
+                mDragging = false;
+                mTouchedItem = -1;
+                recycleVelocityTracker();
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                if (mDragging) {
+                    snapRotation();
+                }
+                mDragging = false;
+                mTouchedItem = -1;
+                recycleVelocityTracker();
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Maps a point to the button whose angular sector contains it, independent of button views bounds.
+     * @return button zero-based index, or -1 if point is off the buttons ring.
+     */
+    private int findButtonAt(float x, float y) {
+        final float dx = x - getHitCenterX();
+        final float dy = y - getHitCenterY();
+        final float tolerance = mTouchRingThickness / 2f + mTouchSlop;
+        if (mMenuRotation == 0) {
+            return mGeometry.getIndexAt(dx, dy, tolerance);
+        }
+
+        // Rotate point back into the frame of not spun buttons
+        final double radians = Math.toRadians(-mMenuRotation);
+        final float cos = (float) Math.cos(radians);
+        final float sin = (float) Math.sin(radians);
+        return mGeometry.getIndexAt(dx * cos - dy * sin, dx * sin + dy * cos, tolerance);
+    }
+
+    /**
+     * @return true if point is inside of the outer edge of the touch ring, see {@link #findButtonAt(float, float)}.
+     */
+    private boolean isInRing(float x, float y) {
+        final float dx = x - getHitCenterX();
+        final float dy = y - getHitCenterY();
+        final float radius = mGeometry.getDistance() + mTouchRingThickness / 2f + mTouchSlop;
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    /**
+     * @return horizontal center of the circle formed by button circles at zero offset, in own coordinates.
+     */
+    private float getHitCenterX() {
+        return mMenuButton.getX() + getItemCenterX();
+    }
+
+    private float getHitCenterY() {
+        return mMenuButton.getY() + DEFAULT_ITEM_SIZE / 2f;
+    }
+
+    /**
+     * @return horizontal center of the button circle inside of the button bounds.
+     */
+    private float getItemCenterX() {
+        return mItemLayout != 0 && mRenderMode == RENDER_MODE_VIEWS
+                ? DEFAULT_ITEM_SIZE / 2f
+                : getPainter().getCircleCenterX();
+    }
+
+    private float getTouchAngle(float x, float y) {
+        return (float) Math.toDegrees(Math.atan2(y - getHitCenterY(), x - getHitCenterX()));
+    }
+
+    /**
+     * Continues spinning with angular velocity of the drag, then snaps to the nearest button angle.
+     */
+    private void fling(float x, float y) {
+        mVelocityTracker.computeCurrentVelocity(1000);
+        final float vx = mVelocityTracker.getXVelocity();
+        final float vy = mVelocityTracker.getYVelocity();
+        final float dx = x - getHitCenterX();
+        final float dy = y - getHitCenterY();
+        final float r2 = dx * dx + dy * dy;
+        if (r2 == 0 || Math.hypot(vx, vy) < mMinFlingVelocity) {
+            snapRotation();
+            return;
+        }
+
+        // Tangential part of the velocity, in degrees per second
+        final float velocity = (float) Math.toDegrees((dx * vy - dy * vx) / r2);
+        if (mFling == null) {
+            mFling = new FlingAnimation(this, MENU_ROTATION);
+            mFling.setMinimumVisibleChange(DynamicAnimation.MIN_VISIBLE_CHANGE_ROTATION_DEGREES);
+            mFling.addEndListener(new DynamicAnimation.OnAnimationEndListener() {
+                @Override
+                public void onAnimationEnd(DynamicAnimation animation, boolean canceled, float value, float velocity) {
+                    if (!canceled) {
+                        snapRotation();
+                    }
+                }
+            });
+        }
+        mFling.setStartVelocity(velocity);
+        mFling.start();
+    }
+
+    /**
+     * Springs menu rotation to the nearest angle where buttons take their initial places.
+     */
+    private void snapRotation() {
+        final float step = Math.abs(mGeometry.getAngleStep());
+        if (step == 0) {
+            return;
+        }
+
+        final float target = Math.round(mMenuRotation / step) * step;
+        if (target == mMenuRotation) {
+            return;
+        }
+
+        if (mSnap == null) {
+            mSnap = new SpringAnimation(this, MENU_ROTATION);
+            mSnap.setMinimumVisibleChange(DynamicAnimation.MIN_VISIBLE_CHANGE_ROTATION_DEGREES);
+            mSnap.setSpring(new SpringForce()
+                    .setStiffness(SpringForce.STIFFNESS_LOW)
+                    .setDampingRatio(SpringForce.DAMPING_RATIO_NO_BOUNCY));
+        }
+        mSnap.getSpring().setFinalPosition(target);
+        mSnap.start();
+    }
+
+    private void stopRotation() {
+        if (mFling != null) {
+            mFling.cancel();
+        }
+        if (mSnap != null) {
+            mSnap.cancel();
+        }
+    }
+
+    private void recycleVelocityTracker() {
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    /**
+     * Spins open menu around the menu button. Buttons are rotated with a single transform
+     * of their container, or of the canvas in {@link #RENDER_MODE_DRAW}, and counter-rotate to keep icons upright.
+     * Rotation is reset when menu opens.
+     * @param rotation rotation in degrees, clockwise.
+     */
+    public void setMenuRotation(float rotation) {
+        if (rotation == mMenuRotation) {
+            return;
+        }
+
+        mMenuRotation = rotation;
+        if (mRenderMode == RENDER_MODE_DRAW) {
+            invalidate();
+            return;
+        }
+
+        mButtonsContainer.setPivotX(getHitCenterX() - mButtonsContainer.getLeft());
+        mButtonsContainer.setPivotY(getHitCenterY() - mButtonsContainer.getTop());
+        mButtonsContainer.setRotation(rotation);
+        for (int i = 0, cnt = menuButtons.size(); i < cnt; i++) {
+            menuButtons.get(i).setRotation(-rotation);
+        }
+    }
+
+    /**
+     * @return current menu rotation in degrees.
+     */
+    public float getMenuRotation() {
+        return mMenuRotation;
+    }
+
+    @NonNull
+    private MenuItemPainter getPainter() {
+        if (mPainter == null) {
+            mPainter = new MenuItemPainter(getContext());
+        }
+        return mPainter;
+    }
+
+    /**
+     * Updates badges of first buttons. Changes are coalesced and applied once per frame,
+     * only to buttons whose value changed. Must be called on the main thread.
+     * @param badges badge values, badge is hidden if value is not positive.
+     */
+    public void updateBadge(@NonNull int[] badges) {
+        if (mBadges.setAll(badges)) {
+            scheduleBadgeFrame();
+        }
+    }
+
+    /**
+     * Updates badge of single button, see {@link #updateBadge(int[])}.
+     * @param index button zero-based index.
+     * @param count badge value, badge is hidden if value is not positive.
+     * @throws IndexOutOfBoundsException if index is not a position of the adapter.
+     */
+    public void setBadge(int index, int count) {
+        checkButtonIndex(index);
+        if (mBadges.set(index, count)) {
+            scheduleBadgeFrame();
+        }
+    }
+
+    /**
+     * @param slot button index on the current page.
+     * @return created button, or null if buttons are not created or released.
+     */
+    @Nullable
+    CircleMenuItem getMenuItem(int slot) {
+        return slot >= 0 && slot < menuItems.size() ? menuItems.get(slot) : null;
+    }
+
+    /**
+     * @param index button zero-based index.
+     * @return last badge value set for button.
+     * @throws IndexOutOfBoundsException if index is not a position of the adapter.
+     */
+    public int getBadge(int index) {
+        checkButtonIndex(index);
+        final int badge = mBadges.get(index);
+        if (badge != BadgeStore.UNSET) {
+            return badge;
+        }
+
+        final int slot = index - mFirstPosition;
+        if (mButtonsReleased || slot < 0 || slot >= menuItems.size()) {
+            return 0;
+        }
+        return menuItems.get(slot).getBadge();
+    }
+
+    private int getItemCount() {
+        return mAdapter != null ? mAdapter.getItemCount() : 0;
+    }
+
+    private void checkButtonIndex(int index) {
+        final int count = getItemCount();
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Button index " + index + " is out of range, buttons count: " + count);
+        }
+    }
+
+    private void scheduleBadgeFrame() {
+        if (!mBadgeFrameScheduled) {
+            mBadgeFrameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(mBadgeFrameCallback);
+        }
+    }
+
+    private void offsetAndScaleButtons(float centerX, float centerY, float offset, float scale) {
+        if (mRenderMode == RENDER_MODE_DRAW) {
+            for (int i = 0, cnt = drawnItems.size(); i < cnt; i++) {
+                final DrawnMenuItem item = drawnItems.get(i);
+                item.setPosition(centerX + mGeometry.getX(i, offset), centerY + mGeometry.getY(i, offset));
+                item.setScale(scale);
+            }
+            invalidate();
+            return;
+        }
+
+        // Buttons are positioned in the container, which may be offset by padding
+        final float left = centerX - mButtonsContainer.getLeft();
+        final float top = centerY - mButtonsContainer.getTop();
+        for (int i = 0, cnt = menuButtons.size(); i < cnt; i++) {
+            final View button = menuButtons.get(i);
+            button.setX(left + mGeometry.getX(i, offset));
+            button.setY(top + mGeometry.getY(i, offset));
+            button.setScaleX(1.0f * scale);
+            button.setScaleY(1.0f * scale);
+        }
+    }
+
+    private Animator getButtonClickAnimation(int buttonIndex) {
+        if (mClickAnimation == null) {
+            mClickAnimation = createButtonClickAnimation();
+        }
+
+        // Ring is not in the buttons container, so it follows menu rotation by itself
+        final float rStartAngle = CircleGeometry.normalize(mGeometry.getAngle(buttonIndex) + mMenuRotation);
+
+        final float x = mGeometry.getOffsetX(buttonIndex);
+        final float y = mGeometry.getOffsetY(buttonIndex);
+
+        mClickedIndex = buttonIndex;
+        if (mRenderMode == RENDER_MODE_DRAW) {
+            // Rotate around the menu center, as the pivot of a button view below
+            final DrawnMenuItem item = drawnItems.get(buttonIndex);
+            item.setPivot(item.getX() - x + getItemCenterX(), item.getY() - y + item.getSize() / 2f);
+        } else {
+            final View button = menuButtons.get(buttonIndex);
+            mClickedButton = button;
+            mClickPivotX = button.getPivotX();
+            mClickPivotY = button.getPivotY();
+            button.setPivotX(mClickPivotX - x);
+            button.setPivotY(mClickPivotY - y);
+
+            // Orbit around menu center starts from the counter-rotated button: rotation around
+            // the menu center by (angle - menu rotation) drifts the button by Rot(angle) * drift
+            mClickTranslationX = button.getTranslationX();
+            mClickTranslationY = button.getTranslationY();
+            final double radians = Math.toRadians(-mMenuRotation);
+            final float cos = (float) Math.cos(radians);
+            final float sin = (float) Math.sin(radians);
+            mClickDriftX = x - (x * cos - y * sin);
+            mClickDriftY = y - (x * sin + y * cos);
+        }
+
+        ringView.setVisibility(View.INVISIBLE);
+        ringView.setStartAngle(rStartAngle);
+
+        ringView.setStrokeColor(mAdapter.getItemColor(mFirstPosition + buttonIndex));
+
+        return mClickAnimation;
+    }
+
+    /**
+     * Single clock for button click: button rotation with ring effect, then ring fade out with menu closing.
+     * Takes three ring durations.
+     */
+    private Animator createButtonClickAnimation() {
+        final long start = beginSpan(CircleMenuTimings.SPAN_BUILD_ANIMATIONS);
+        final ValueAnimator result = createDriver(getTransitionDuration(durationRing * 3L));
+        result.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator valueAnimator) {
+                applyClickFraction(valueAnimator.getAnimatedFraction() * 3f);
+            }
+        });
+        result.addListener(mLayerListener);
+        result.addListener(new FrameStatsListener(AnimationStats.TYPE_RING));
+        result.addListener(new TransitionSpanListener(CircleMenuTimings.SPAN_CLICK));
         result.addListener(new AnimatorListenerAdapter() {
             @Override
             public void onAnimationStart(Animator animation) {
                 isAnimating = true;
+                mClickRingPhase = false;
+
+                ringView.setScaleX(1f);
+                ringView.setScaleY(1f);
+                ringView.setAlpha(1f);
+                if (mQualityController.getTier() > QUALITY_LOW) {
+                    ringView.setVisibility(View.VISIBLE);
+                }
+
+                if (mListener != null) {
+                    mListener.onButtonClickAnimationStart(CircleMenuView.this, mFirstPosition + mClickedIndex);
+                }
             }
             @Override
             public void onAnimationEnd(Animator animation) {
+                if (!mClickRingPhase) {
+                    restoreClickedButtonPivot();
+                }
+                setLayerType(ringView, getLayerType(false));
+
                 isAnimating = false;
+                mClosedState = true;
+
+                if (mListener != null) {
+                    mListener.onButtonClickAnimationEnd(CircleMenuView.this, mFirstPosition + mClickedIndex);
+                }
+            }
+        });
+
+        endSpan(CircleMenuTimings.SPAN_BUILD_ANIMATIONS, start);
+        return result;
+    }
+
+    /**
+     * @param phase from 0 to 3. Up to 1 button rotates and ring grows,
+     *              then ring fades out while menu closes, see {@link #applyCloseFraction(float)}.
+     */
+    private void applyClickFraction(float phase) {
+        if (phase < 1f) {
+            final float angle = 360f * mEaseInterpolator.getInterpolation(phase);
+            setClickedButtonRotation(angle);
+            ringView.setAngle(angle);
+            return;
+        }
+
+        if (!mClickRingPhase) {
+            mClickRingPhase = true;
+            setClickedButtonRotation(360f);
+            ringView.setAngle(360f);
+            restoreClickedButtonPivot();
+            setLayerType(ringView, getLayerType(true));
+            beginClose();
+        }
+
+        final float eased = mEaseInterpolator.getInterpolation(Math.min(phase - 1f, 1f));
+        final float ringScale = 1f + (DEFAULT_RING_SCALE_RATIO - 1f) * eased;
+        ringView.setScaleX(ringScale);
+        ringView.setScaleY(ringScale);
+        ringView.setAlpha(1f - eased);
+
+        applyCloseFraction(phase - 1f);
+    }
+
+    private void setClickedButtonRotation(float angle) {
+        if (mRenderMode == RENDER_MODE_DRAW) {
+            drawnItems.get(mClickedIndex).setRotation(angle);
+            invalidate();
+        } else {
+            final double radians = Math.toRadians(angle);
+            final float cos = (float) Math.cos(radians);
+            final float sin = (float) Math.sin(radians);
+            mClickedButton.setRotation(angle - mMenuRotation);
+            mClickedButton.setTranslationX(mClickTranslationX + mClickDriftX * cos - mClickDriftY * sin);
+            mClickedButton.setTranslationY(mClickTranslationY + mClickDriftX * sin + mClickDriftY * cos);
+        }
+    }
+
+    private void restoreClickedButtonPivot() {
+        if (mRenderMode == RENDER_MODE_DRAW) {
+            drawnItems.get(mClickedIndex).setRotation(0);
+        } else {
+            mClickedButton.setPivotX(mClickPivotX);
+            mClickedButton.setPivotY(mClickPivotY);
+            mClickedButton.setRotation(-mMenuRotation);
+            mClickedButton.setTranslationX(mClickTranslationX);
+            mClickedButton.setTranslationY(mClickTranslationY);
+        }
+    }
+
+    private Animator getOpenMenuAnimation() {
+        if (mOpenAnimation == null) {
+            mOpenAnimation = createOpenMenuAnimation();
+        }
+        return mOpenAnimation;
+    }
+
+    private Animator createOpenMenuAnimation() {
+        final long start = beginSpan(CircleMenuTimings.SPAN_BUILD_ANIMATIONS);
+        final ValueAnimator result = createDriver(getTransitionDuration(mDurationClose));
+        result.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator valueAnimator) {
+                applyOpenFraction(valueAnimator.getAnimatedFraction());
+            }
+        });
+        result.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationStart(Animator animation) {
+                isAnimating = true;
+                mClosedState = false;
+                mMenuReversed = false;
+
+                mCloseIconSet = false;
+                mOpenCenterX = mMenuButton.getX();
+                mOpenCenterY = mMenuButton.getY();
+                setMenuRotation(0);
+
+                setButtonsVisible(true);
+            }
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                isAnimating = false;
+                if (mMenuReversed) {
+                    // Buttons flew back in, menu is closed as after close animation
+                    setButtonsVisible(false);
+                }
+            }
+        });
+        result.addListener(mMenuAnimationListener);
+        result.addListener(mLayerListener);
+        result.addListener(new FrameStatsListener(AnimationStats.TYPE_OPEN));
+        result.addListener(new TransitionSpanListener(CircleMenuTimings.SPAN_OPEN));
+
+        endSpan(CircleMenuTimings.SPAN_BUILD_ANIMATIONS, start);
+        return result;
+    }
+
+    /**
+     * Menu button fades and swings to the close icon while buttons fly out with overshoot.
+     * @param fraction from 0 to 1.
+     */
+    private void applyOpenFraction(float fraction) {
+        final float eased = mEaseInterpolator.getInterpolation(fraction);
+        mMenuButton.setAlpha(1f + (DEFAULT_CLOSE_ICON_ALPHA - 1f) * eased);
+        // Rotation keyframes 0, 60 and 0 degrees at 0, 0.5 and 1
+        mMenuButton.setRotation(eased < 0.5f ? 120f * eased : 120f * (1f - eased));
+        if (eased >= 0.5f && !mCloseIconSet) {
+            mCloseIconSet = true;
+            // Crossfade to close icon during the rest of the animation
+            mMenuIcon.startTransition((int) getTransitionDuration(mDurationClose / 2));
+        } else if (eased < 0.5f && mCloseIconSet) {
+            // Reversed open, back to menu icon
+            mCloseIconSet = false;
+            mMenuIcon.reverseTransition((int) getTransitionDuration(mDurationClose / 2));
+        }
+
+        final float overshoot = mPopInterpolator.getInterpolation(fraction);
+        offsetAndScaleButtons(mOpenCenterX, mOpenCenterY, mDistance * overshoot, overshoot);
+    }
+
+    private Animator getCloseMenuAnimation() {
+        if (mCloseAnimation == null) {
+            mCloseAnimation = createCloseMenuAnimation();
+        }
+        return mCloseAnimation;
+    }
+
+    /**
+     * Single clock for menu closing, takes two open durations.
+     */
+    private Animator createCloseMenuAnimation() {
+        final long start = beginSpan(CircleMenuTimings.SPAN_BUILD_ANIMATIONS);
+        final ValueAnimator result = createDriver(getTransitionDuration(mDurationOpen * 2L));
+        result.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator valueAnimator) {
+                final float phase = valueAnimator.getAnimatedFraction() * 2f;
+                applyCloseFraction(phase);
+                if (mMenuReversed) {
+                    applyReturningButtons(phase);
+                }
+            }
+        });
+        result.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationStart(Animator animation) {
+                isAnimating = true;
+                mClosedState = true;
+                mMenuReversed = false;
+                beginClose();
+            }
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                isAnimating = false;
+            }
+        });
+        result.addListener(mMenuAnimationListener);
+        result.addListener(mLayerListener);
+        result.addListener(new FrameStatsListener(AnimationStats.TYPE_CLOSE));
+        result.addListener(new TransitionSpanListener(CircleMenuTimings.SPAN_CLOSE));
+        endSpan(CircleMenuTimings.SPAN_BUILD_ANIMATIONS, start);
+        return result;
+    }
+
+    private void beginClose() {
+        mCloseIconPhase = false;
+        setButtonsVisible(false);
+    }
+
+    /**
+     * @param phase from 0 to 2. Up to 1 menu button shrinks and fades out,
+     *              then it returns with menu icon and overshoot.
+     */
+    private void applyCloseFraction(float phase) {
+        if (phase < 1f) {
+            if (mCloseIconPhase) {
+                // Reversed close, menu button is hidden at this point
+                mCloseIconPhase = false;
+                mMenuIcon.startTransition(0);
+            }
+
+            final float eased = mEaseInterpolator.getInterpolation(phase);
+            mMenuButton.setRotation(0);
+            mMenuButton.setScaleX(1f - eased);
+            mMenuButton.setScaleY(1f - eased);
+            mMenuButton.setAlpha(DEFAULT_CLOSE_ICON_ALPHA * (1f - eased));
+            return;
+        }
+
+        if (!mCloseIconPhase) {
+            mCloseIconPhase = true;
+            mMenuIcon.resetTransition();
+        }
+
+        final float overshoot = mPopInterpolator.getInterpolation(Math.min(phase - 1f, 1f));
+        mMenuButton.setRotation(60f * (1f - overshoot));
+        mMenuButton.setAlpha(overshoot);
+        mMenuButton.setScaleX(overshoot);
+        mMenuButton.setScaleY(overshoot);
+    }
+
+    /**
+     * Buttons of reversed close animation grow back at full distance while menu button returns.
+     * @param phase from 0 to 2, see {@link #applyCloseFraction(float)}.
+     */
+    private void applyReturningButtons(float phase) {
+        final float scale = phase < 1f ? 1f - mEaseInterpolator.getInterpolation(phase) : 0f;
+        offsetAndScaleButtons(mMenuButton.getX(), mMenuButton.getY(), mDistance, scale);
+    }
+
+    /**
+     * Reverses running open or close animation from its current fraction.
+     * Listener gets end of the interrupted transition and start of the opposite one.
+     * @return false if neither open nor close animation is running.
+     */
+    private boolean reverseMenuAnimation() {
+        final ValueAnimator animation;
+        if (mOpenAnimation != null && mOpenAnimation.isRunning()) {
+            animation = (ValueAnimator) mOpenAnimation;
+        } else if (mCloseAnimation != null && mCloseAnimation.isRunning()) {
+            animation = (ValueAnimator) mCloseAnimation;
+        } else {
+            return false;
+        }
+
+        dispatchMenuAnimationEnd();
+        mClosedState = !mClosedState;
+        mMenuReversed = !mMenuReversed;
+
+        if (animation == mCloseAnimation) {
+            // Close animation hides buttons at once, reversed one brings them back
+            if (mMenuReversed) {
+                applyReturningButtons(animation.getAnimatedFraction() * 2f);
             }
-        });
+            setButtonsVisible(mMenuReversed);
+        }
+
+        animation.reverse();
+        dispatchMenuAnimationStart();
+        return true;
+    }
+
+    private boolean isClickAnimationRunning() {
+        return mClickAnimation != null && mClickAnimation.isRunning();
+    }
+
+    /**
+     * Ends running click animation before buttons are added or removed,
+     * it keeps writing to the clicked button and its index until the end.
+     */
+    private void finishClickAnimation() {
+        if (isClickAnimationRunning()) {
+            mClickAnimation.end();
+        }
+    }
+
+    private void dispatchMenuAnimationStart() {
+        if (mListener == null) {
+            return;
+        }
+
+        if (mClosedState) {
+            mListener.onMenuCloseAnimationStart(this);
+        } else {
+            mListener.onMenuOpenAnimationStart(this);
+        }
+    }
+
+    private void dispatchMenuAnimationEnd() {
+        if (mListener == null) {
+            return;
+        }
+
+        if (mClosedState) {
+            mListener.onMenuCloseAnimationEnd(this);
+        } else {
+            mListener.onMenuOpenAnimationEnd(this);
+        }
+    }
+
+    /**
+     * @return duration shortened in low quality.
+     */
+    private long getTransitionDuration(long duration) {
+        return mQualityController.getTier() == QUALITY_LOW ? duration / 2 : duration;
+    }
+
+    /**
+     * Opens trace section of the span.
+     * @return start time for {@link #endSpan(int, long)}.
+     */
+    private static long beginSpan(int span) {
+        Trace.beginSection(CircleMenuTimings.getName(span));
+        return System.nanoTime();
+    }
+
+    private void endSpan(int span, long start) {
+        mTimings.add(span, System.nanoTime() - start);
+        Trace.endSection();
+    }
+
+    /**
+     * Linear clock of a transition, every property applies its own interpolator to the fraction.
+     */
+    @NonNull
+    private static ValueAnimator createDriver(long duration) {
+        final ValueAnimator result = ValueAnimator.ofFloat(0f, 1f);
+        result.setInterpolator(null);
+        result.setDuration(duration);
         return result;
     }
 
+    private void setButtonsVisible(boolean visible) {
+        for (int i = 0, cnt = drawnItems.size(); i < cnt; i++) {
+            drawnItems.get(i).setVisible(visible);
+        }
+
+        final int visibility = visible ? View.VISIBLE : View.INVISIBLE;
+        for (int i = 0, cnt = menuButtons.size(); i < cnt; i++) {
+            menuButtons.get(i).setVisibility(visibility);
+        }
+    }
+
+    /**
+     * Switches buttons to hardware layers while animation is running, according to layer policy.
+     */
+    private void updateButtonsLayerType() {
+        final int layerType = getLayerType(mRunningAnimations > 0);
+        for (int i = 0, cnt = menuButtons.size(); i < cnt; i++) {
+            setLayerType(menuButtons.get(i), layerType);
+        }
+    }
+
+    private int getLayerType(boolean animating) {
+        final boolean hardware = mLayerPolicy == LAYER_POLICY_ALWAYS
+                || (mLayerPolicy == LAYER_POLICY_ANIMATION && animating);
+        return hardware ? LAYER_TYPE_HARDWARE : LAYER_TYPE_NONE;
+    }
+
+    private static void setLayerType(@NonNull View view, int layerType) {
+        if (view.getLayerType() != layerType) {
+            view.setLayerType(layerType, null);
+        }
+    }
+
+    private void initQuality() {
+        if (mQuality == QUALITY_AUTO) {
+            mQualityController = new QualityController(QualityController.getAutoTier(getContext()), true);
+        } else {
+            mQualityController = new QualityController(mQuality, false);
+        }
+        applyQuality();
+    }
+
+    /**
+     * Applies current quality tier to buttons and transitions.
+     */
+    private void applyQuality() {
+        mPopInterpolator = mQualityController.getTier() == QUALITY_LOW ? mEaseInterpolator : mOvershootInterpolator;
+
+        final float elevation = getButtonElevation();
+        for (int i = 0, cnt = menuItems.size(); i < cnt; i++) {
+            final CircleMenuItem item = menuItems.get(i);
+            if (item instanceof MenuItemView) {
+                item.getView().setElevation(elevation);
+            }
+        }
+        invalidateAnimations();
+    }
+
+    private boolean isQualityAdaptive() {
+        return mQualityController.isAdaptive() && mQualityController.getTier() > QUALITY_LOW;
+    }
+
+    private float getButtonElevation() {
+        return mQualityController.getTier() == QUALITY_HIGH
+                ? MenuItemPainter.ELEVATION * getResources().getDisplayMetrics().density
+                : 0f;
+    }
+
+    /**
+     * Builds open, close and button click animation graphs ahead of first use,
+     * so the first click does not pay for their construction.
+     */
+    public void prepareAnimations() {
+        getOpenMenuAnimation();
+        getCloseMenuAnimation();
+        if (mClickAnimation == null) {
+            mClickAnimation = createButtonClickAnimation();
+        }
+    }
+
+    /**
+     * Preloads menu and close icons from {@link DrawableCache} into a crossfade drawable,
+     * animations switch between them without resource lookup.
+     */
+    private void updateMenuIcon() {
+        final DrawableCache cache = DrawableCache.getDefault();
+        Drawable menu = cache.get(getContext(), mIconMenu, DrawableCache.NO_TINT);
+        Drawable close = cache.get(getContext(), mIconClose, DrawableCache.NO_TINT);
+        // Transition changes layers alpha, layers must not share state with the cache
+        menu = menu != null ? menu.mutate() : new ColorDrawable(Color.TRANSPARENT);
+        close = close != null ? close.mutate() : new ColorDrawable(Color.TRANSPARENT);
+
+        mMenuIcon = new TransitionDrawable(new Drawable[] {menu, close});
+        mMenuIcon.setCrossFadeEnabled(true);
+        if (!mClosedState) {
+            mMenuIcon.startTransition(0);
+        }
+        mMenuButton.setImageDrawable(mMenuIcon);
+    }
+
+    /**
+     * Drops cached animation graphs, they are rebuilt on next use.
+     * Called when durations or quality tier change. Graphs read geometry and distance on every frame,
+     * so buttons count and distance changes keep them.
+     */
+    private void invalidateAnimations() {
+        mOpenAnimation = null;
+        mCloseAnimation = null;
+        mClickAnimation = null;
+    }
+
     public void setIconMenu(@DrawableRes int iconId) {
         mIconMenu = iconId;
+        updateMenuIcon();
     }
 
     @DrawableRes
@@ -520,6 +1702,7 @@ public class CircleMenuView extends FrameLayout {
 
     public void setIconClose(@DrawableRes int iconId) {
         mIconClose = iconId;
+        updateMenuIcon();
     }
 
     @DrawableRes
@@ -533,6 +1716,7 @@ public class CircleMenuView extends FrameLayout {
      */
     public void setDurationClose(int duration) {
         mDurationClose = duration;
+        invalidateAnimations();
     }
 
     /**
@@ -549,6 +1733,7 @@ public class CircleMenuView extends FrameLayout {
      */
     public void setDurationOpen(int duration) {
         mDurationOpen = duration;
+        invalidateAnimations();
     }
 
     /**
@@ -565,6 +1750,7 @@ public class CircleMenuView extends FrameLayout {
      */
     public void setDurationRing(int duration) {
         durationRing = duration;
+        invalidateAnimations();
     }
 
     /**
@@ -597,6 +1783,7 @@ public class CircleMenuView extends FrameLayout {
      */
     public void setDistance(float distance) {
         mDistance = distance;
+        mGeometry.setup(menuItems.size(), distance);
         invalidate();
     }
 
@@ -608,6 +1795,337 @@ public class CircleMenuView extends FrameLayout {
         return mDistance;
     }
 
+    /**
+     * See {@link R.styleable#CircleMenuView_ring_polyline}
+     * @param polyline draw ring effect as a polyline instead of an arc.
+     */
+    public void setRingPolyline(boolean polyline) {
+        ringView.setPolylineMode(polyline);
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_ring_polyline}
+     * @return true if ring effect is drawn as a polyline.
+     */
+    public boolean isRingPolyline() {
+        return ringView.isPolylineMode();
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_layer_policy}
+     * @param policy one of {@link #LAYER_POLICY_NONE}, {@link #LAYER_POLICY_ANIMATION}
+     *               or {@link #LAYER_POLICY_ALWAYS}.
+     */
+    public void setLayerPolicy(int policy) {
+        mLayerPolicy = policy;
+        updateButtonsLayerType();
+        setLayerType(ringView, getLayerType(false));
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_layer_policy}
+     * @return current layer policy.
+     */
+    public int getLayerPolicy() {
+        return mLayerPolicy;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_page_size}
+     * @param pageSize count of buttons shown at once, 0 to show all buttons.
+     *                 Only buttons of the current page are created and animated.
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("Page size must be non-negative");
+        }
+
+        mPageSize = pageSize;
+        if (!mButtonsReleased) {
+            syncButtons();
+        }
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_page_size}
+     * @return current page size, 0 if all buttons are shown.
+     */
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    /**
+     * Shows buttons of another page, existing buttons are rebound to its items.
+     * @param page zero-based page index, clamped to available pages.
+     */
+    public void setPage(int page) {
+        mPage = page;
+        if (!mButtonsReleased) {
+            syncButtons();
+        }
+    }
+
+    /**
+     * @return current zero-based page index.
+     */
+    public int getPage() {
+        return mPage;
+    }
+
+    /**
+     * @return count of pages, at least 1.
+     */
+    public int getPageCount() {
+        final int itemCount = mAdapter != null ? mAdapter.getItemCount() : 0;
+        if (mPageSize <= 0 || itemCount == 0) {
+            return 1;
+        }
+        return (itemCount + mPageSize - 1) / mPageSize;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_touch_ring_thickness}
+     * @param thickness width of the ring where touches select buttons, in pixels.
+     */
+    public void setTouchRingThickness(float thickness) {
+        mTouchRingThickness = thickness;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_touch_ring_thickness}
+     * @return current touch ring thickness in pixels.
+     */
+    public float getTouchRingThickness() {
+        return mTouchRingThickness;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_touch_slop}
+     * @param slop extra distance on both sides of the touch ring, in pixels.
+     */
+    public void setTouchSlop(float slop) {
+        mTouchSlop = slop;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_touch_slop}
+     * @return current touch slop in pixels.
+     */
+    public float getTouchSlop() {
+        return mTouchSlop;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_rotation_enabled}
+     * @param enabled spin open menu with drag and fling or not.
+     */
+    public void setRotationEnabled(boolean enabled) {
+        mRotationEnabled = enabled;
+        if (!enabled) {
+            stopRotation();
+        }
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_rotation_enabled}
+     * @return true if open menu can be spun.
+     */
+    public boolean isRotationEnabled() {
+        return mRotationEnabled;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_lazy_buttons}
+     * @param lazy create buttons on first open or at idle, instead of right away.
+     */
+    public void setLazyButtons(boolean lazy) {
+        mLazyButtons = lazy;
+        if (!lazy && isAttachedToWindow()) {
+            ensureButtons();
+        }
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_lazy_buttons}
+     * @return true if buttons are created lazily.
+     */
+    public boolean isLazyButtons() {
+        return mLazyButtons;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_render_mode}
+     * @param mode {@link #RENDER_MODE_VIEWS} or {@link #RENDER_MODE_DRAW}. Existing buttons are recreated.
+     */
+    public void setRenderMode(int mode) {
+        if (mRenderMode == mode) {
+            return;
+        }
+
+        final boolean released = mButtonsReleased;
+        if (!released) {
+            releaseButtons();
+        }
+        mRenderMode = mode;
+        if (!released) {
+            mButtonsReleased = false;
+            syncButtons();
+        }
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_render_mode}
+     * @return current render mode.
+     */
+    public int getRenderMode() {
+        return mRenderMode;
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_quality}
+     * @param quality {@link #QUALITY_AUTO}, {@link #QUALITY_LOW}, {@link #QUALITY_MEDIUM} or {@link #QUALITY_HIGH}.
+     */
+    public void setQuality(int quality) {
+        mQuality = quality;
+        initQuality();
+    }
+
+    /**
+     * See {@link R.styleable#CircleMenuView_quality}
+     * @return configured quality, may be {@link #QUALITY_AUTO}.
+     */
+    public int getQuality() {
+        return mQuality;
+    }
+
+    /**
+     * @return quality tier in use, one of {@link #QUALITY_LOW}, {@link #QUALITY_MEDIUM} or {@link #QUALITY_HIGH}.
+     */
+    public int getQualityTier() {
+        return mQualityController.getTier();
+    }
+
+    /**
+     * Enables frame statistics of open, close and ring animations, reported to
+     * {@link EventListener#onAnimationStats(CircleMenuView, AnimationStats)}. Disabled by default.
+     * @param enabled record frame statistics or not.
+     */
+    public void setFrameStatsEnabled(boolean enabled) {
+        mFrameStatsEnabled = enabled;
+    }
+
+    /**
+     * @return true if frame statistics are recorded.
+     */
+    public boolean isFrameStatsEnabled() {
+        return mFrameStatsEnabled;
+    }
+
+    /**
+     * Time spent in attribute parsing, layout inflation, buttons creation, measure, layout,
+     * animations construction and transitions since creation or {@link #resetTimings()}.
+     * @return snapshot, not updated afterwards.
+     */
+    @NonNull
+    public CircleMenuTimings getTimings() {
+        return new CircleMenuTimings(mTimings);
+    }
+
+    /**
+     * Clears recorded timings, see {@link #getTimings()}.
+     */
+    public void resetTimings() {
+        mTimings.reset();
+    }
+
+    /**
+     * Replaces buttons adapter. Existing buttons are reused and rebound.
+     * @param adapter new adapter or null to remove all buttons.
+     */
+    public void setAdapter(@Nullable CircleMenuAdapter adapter) {
+        if (mAdapter == adapter) {
+            return;
+        }
+
+        if (mAdapter != null) {
+            mAdapter.unregisterObserver(mAdapterObserver);
+        }
+        mAdapter = adapter;
+        if (mAdapter != null) {
+            mAdapter.registerObserver(mAdapterObserver);
+        }
+
+        mBadges.setCount(getItemCount());
+        if (!mButtonsReleased) {
+            syncButtons();
+        }
+    }
+
+    /**
+     * Shows buttons of the model, e.g. in a RecyclerView row. Existing buttons are reused and rebound
+     * in place, open menu is closed without animation and badges set with {@link #setBadge(int, int)} are dropped.
+     * No objects are allocated if buttons count is unchanged, except icon drawables of changed icons.
+     * @param model buttons content, replaces current adapter.
+     */
+    public void bind(@NonNull CircleMenuModel model) {
+        resetState();
+        mBadges.clear();
+        mPage = 0;
+
+        if (mModelAdapter == null) {
+            mModelAdapter = new ModelAdapter();
+        }
+        mModelAdapter.setModel(model);
+        if (mAdapter != mModelAdapter) {
+            setAdapter(mModelAdapter);
+        } else {
+            mModelAdapter.notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * Closes menu without animation, stops running animations and releases bound model.
+     * Buttons are kept for the next {@link #bind(CircleMenuModel)}.
+     */
+    public void unbind() {
+        resetState();
+        if (mModelAdapter != null) {
+            mModelAdapter.setModel(null);
+        }
+    }
+
+    /**
+     * @return bound model or null.
+     */
+    @Nullable
+    public CircleMenuModel getModel() {
+        return mModelAdapter != null && mAdapter == mModelAdapter ? mModelAdapter.getModel() : null;
+    }
+
+    private void resetState() {
+        stopRotation();
+        close(false);
+        setMenuRotation(0);
+
+        mTouchedItem = -1;
+        mDragging = false;
+        recycleVelocityTracker();
+
+        if (mBadgeFrameScheduled) {
+            mBadgeFrameScheduled = false;
+            Choreographer.getInstance().removeFrameCallback(mBadgeFrameCallback);
+        }
+    }
+
+    /**
+     * @return current buttons adapter. Buttons declared in XML are provided by an internal adapter
+     *         over arrays of {@link CircleMenuConfig#getButtons()}.
+     */
+    @Nullable
+    public CircleMenuAdapter getAdapter() {
+        return mAdapter;
+    }
+
     /**
      * See {@link CircleMenuView.EventListener }
      * @param listener new event listener or null.
@@ -625,46 +2143,69 @@ public class CircleMenuView extends FrameLayout {
     }
 
     private void openOrClose(boolean open, boolean animate) {
-        if (isAnimating) {
-            return;
+        if (isClickAnimationRunning()) {
+            if (animate && !open) {
+                // Already closing
+                return;
+            }
+            mClickAnimation.end();
         }
 
-        if (open && !mClosedState) {
+        // Closing menu must not keep spinning
+        stopRotation();
+
+        final Animator running = mOpenAnimation != null && mOpenAnimation.isRunning() ? mOpenAnimation
+                : mCloseAnimation != null && mCloseAnimation.isRunning() ? mCloseAnimation : null;
+        if (running != null) {
+            if (mClosedState == open) {
+                reverseMenuAnimation();
+            }
+            if (!animate) {
+                // Jump to the end, listener still gets the end of the transition
+                running.end();
+            }
             return;
         }
 
-        if (!open && mClosedState) {
+        if (open != mClosedState || isAnimating) {
             return;
         }
 
+        if (open) {
+            ensureButtons();
+        }
         if (animate) {
-            mMenuButton.performClick();
+            if (open) {
+                getOpenMenuAnimation().start();
+            } else {
+                getCloseMenuAnimation().start();
+            }
         } else {
             mClosedState = !open;
 
             final float centerX = mMenuButton.getX();
             final float centerY = mMenuButton.getY();
 
-            final int buttonsCount = menuButtons.size();
-            final float angleStep = 360f / buttonsCount;
-
             final float offset = open ? mDistance : 0f;
             final float scale = open ? 1f : 0f;
 
-            mMenuButton.setImageResource(open ? mIconClose : mIconMenu);
+            if (open) {
+                setMenuRotation(0);
+                mMenuIcon.startTransition(0);
+            } else {
+                mMenuIcon.resetTransition();
+            }
             mMenuButton.setAlpha(open ? DEFAULT_CLOSE_ICON_ALPHA : 1f);
 
-            final int visibility = open ? View.VISIBLE : View.INVISIBLE;
-            for (View view: menuButtons) {
-                view.setVisibility(visibility);
-            }
+            setButtonsVisible(open);
 
-            offsetAndScaleButtons(centerX, centerY, angleStep, offset, scale);
+            offsetAndScaleButtons(centerX, centerY, offset, scale);
         }
     }
 
     /**
-     * Open menu programmatically
+     * Open menu programmatically. Running close animation is reversed from its current state,
+     * running button click animation is finished at once.
      * @param animate open with animation or not
      */
     public void open(boolean animate) {
@@ -672,7 +2213,7 @@ public class CircleMenuView extends FrameLayout {
     }
 
     /**
-     * Close menu programmatically
+     * Close menu programmatically. Running open animation is reversed from its current state.
      * @param animate close with animation or not
      */
     public void close(boolean animate) {
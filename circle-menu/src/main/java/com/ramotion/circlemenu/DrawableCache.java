@@ -0,0 +1,136 @@
+package com.ramotion.circlemenu;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+/**
+ * Process wide LRU cache of icon drawables, shared by all CircleMenuView instances.
+ * <p>
+ * Entries are keyed by resource id, tint and screen density and hold {@link Drawable.ConstantState},
+ * so repeated icons skip resource lookup and inflation. Returned drawables share their state:
+ * a caller that changes alpha, tint or other state must {@link Drawable#mutate()} first.
+ * Themed attributes are resolved with the context of the first request.
+ * <p>
+ * All methods must be called on the main thread.
+ */
+public final class DrawableCache {
+
+    /** Tint value that leaves the drawable untinted. */
+    public static final int NO_TINT = 0;
+
+    private static final int DEFAULT_MAX_SIZE = 64;
+
+    private static final DrawableCache sDefault = new DrawableCache();
+
+    private final LruCache<Key, Drawable.ConstantState> mCache = new LruCache<>(DEFAULT_MAX_SIZE);
+    // Reused for lookups, a new key is only allocated on cache miss
+    private final Key mLookupKey = new Key();
+
+    private static final class Key {
+        int id;
+        int tint;
+        int density;
+
+        Key() {}
+
+        Key(@NonNull Key other) {
+            id = other.id;
+            tint = other.tint;
+            density = other.density;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return id == key.id && tint == key.tint && density == key.density;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * id + tint) + density;
+        }
+    }
+
+    /**
+     * @return cache shared by all menus in the process.
+     */
+    @NonNull
+    public static DrawableCache getDefault() {
+        return sDefault;
+    }
+
+    /**
+     * @param maxSize maximum count of cached drawables.
+     */
+    @MainThread
+    public void setMaxSize(int maxSize) {
+        mCache.resize(maxSize);
+    }
+
+    @MainThread
+    public int getMaxSize() {
+        return mCache.maxSize();
+    }
+
+    /**
+     * Drops all cached drawables, e.g. on low memory.
+     */
+    @MainThread
+    public void clear() {
+        mCache.evictAll();
+    }
+
+    /**
+     * @param tint tint color or {@link #NO_TINT}.
+     * @return drawable sharing cached state, or null if resource id is 0.
+     */
+    @Nullable
+    @MainThread
+    Drawable get(@NonNull Context context, @DrawableRes int id, @ColorInt int tint) {
+        if (id == 0) {
+            return null;
+        }
+
+        final Resources resources = context.getResources();
+        mLookupKey.id = id;
+        mLookupKey.tint = tint;
+        mLookupKey.density = resources.getDisplayMetrics().densityDpi;
+
+        final Drawable.ConstantState cached = mCache.get(mLookupKey);
+        if (cached != null) {
+            return cached.newDrawable(resources);
+        }
+
+        Drawable drawable = ContextCompat.getDrawable(context, id);
+        if (drawable == null) {
+            return null;
+        }
+        if (tint != NO_TINT) {
+            drawable = drawable.mutate();
+            drawable.setTint(tint);
+        }
+
+        final Drawable.ConstantState state = drawable.getConstantState();
+        if (state == null) {
+            return drawable;
+        }
+        mCache.put(new Key(mLookupKey), state);
+        return state.newDrawable(resources);
+    }
+
+}
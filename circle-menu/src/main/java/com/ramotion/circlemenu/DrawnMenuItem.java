@@ -0,0 +1,179 @@
+package com.ramotion.circlemenu;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Menu button without a view, drawn by {@link CircleMenuView} in
+ * {@link CircleMenuView#RENDER_MODE_DRAW}. Holds content and transform of the button,
+ * changes only invalidate the host.
+ */
+final class DrawnMenuItem implements CircleMenuItem {
+
+    private final View mHost;
+    private final MenuItemPainter mPainter;
+    private final char[] mBadgeChars = new char[11];
+    private final int mSize;
+
+    private Drawable mIcon;
+    private int mIconId;
+    private CharSequence mLabel;
+    private int mBadge;
+    private int mBadgeStart;
+    @ColorInt
+    private int mColor;
+
+    private float mX;
+    private float mY;
+    private float mScale = 1f;
+    private float mRotation;
+    private float mPivotX;
+    private float mPivotY;
+    private boolean mVisible = true;
+
+    DrawnMenuItem(@NonNull View host, @NonNull MenuItemPainter painter, int size) {
+        mHost = host;
+        mPainter = painter;
+        mSize = size;
+        mColor = painter.getColor();
+        mBadgeStart = MenuItemView.toChars(0, mBadgeChars);
+    }
+
+    /**
+     * @return host CircleMenuView, button has no view of its own.
+     */
+    @NonNull
+    @Override
+    public View getView() {
+        return mHost;
+    }
+
+    @Override
+    public void setIcon(@DrawableRes int iconId) {
+        if (iconId == mIconId && mIcon != null) {
+            return;
+        }
+
+        mIconId = iconId;
+        mIcon = DrawableCache.getDefault().get(mHost.getContext(), iconId, Color.WHITE);
+        mPainter.setIconBounds(mIcon, mSize);
+        mHost.invalidate();
+    }
+
+    @Override
+    public void setLabel(@Nullable CharSequence label) {
+        mLabel = label;
+        mHost.invalidate();
+    }
+
+    @Override
+    public void setBadge(int count) {
+        if (count == mBadge) {
+            return;
+        }
+
+        mBadge = count;
+        mBadgeStart = MenuItemView.toChars(count, mBadgeChars);
+        mHost.invalidate();
+    }
+
+    @Override
+    public int getBadge() {
+        return mBadge;
+    }
+
+    /**
+     * @param color circle background color, set on the shared painter when drawn.
+     */
+    void setColor(@ColorInt int color) {
+        if (color == mColor) {
+            return;
+        }
+
+        mColor = color;
+        mHost.invalidate();
+    }
+
+    @ColorInt
+    int getColor() {
+        return mColor;
+    }
+
+    /**
+     * Position of top left corner in host coordinates, see {@link View#setX(float)}.
+     */
+    void setPosition(float x, float y) {
+        mX = x;
+        mY = y;
+    }
+
+    float getX() {
+        return mX;
+    }
+
+    float getY() {
+        return mY;
+    }
+
+    int getSize() {
+        return mSize;
+    }
+
+    /**
+     * Scale around button center.
+     */
+    void setScale(float scale) {
+        mScale = scale;
+    }
+
+    /**
+     * Rotation around pivot in host coordinates, see {@link #setPivot(float, float)}.
+     */
+    void setRotation(float rotation) {
+        mRotation = rotation;
+    }
+
+    void setPivot(float x, float y) {
+        mPivotX = x;
+        mPivotY = y;
+    }
+
+    void setVisible(boolean visible) {
+        mVisible = visible;
+    }
+
+    boolean isVisible() {
+        return mVisible && mScale != 0;
+    }
+
+    /**
+     * @param uprightRotation rotation around the button circle, compensates rotation of the whole menu.
+     */
+    void draw(@NonNull Canvas canvas, float uprightRotation) {
+        if (!isVisible()) {
+            return;
+        }
+
+        final float half = mSize / 2f;
+        final int save = canvas.save();
+        if (mRotation != 0) {
+            canvas.rotate(mRotation, mPivotX, mPivotY);
+        }
+        canvas.translate(mX, mY);
+        if (uprightRotation != 0) {
+            canvas.rotate(uprightRotation, mPainter.getCircleCenterX(), half);
+        }
+        canvas.scale(mScale, mScale, half, half);
+        mPainter.setColor(mColor);
+        mPainter.draw(canvas, mSize, mIcon, mLabel, mBadge, mBadgeChars, mBadgeStart);
+        canvas.restoreToCount(save);
+    }
+
+}
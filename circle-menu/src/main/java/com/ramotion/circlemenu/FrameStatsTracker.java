@@ -0,0 +1,77 @@
+package com.ramotion.circlemenu;
+
+import android.view.Choreographer;
+
+import java.util.Arrays;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Records frame intervals of a running animation with Choreographer frame callbacks.
+ * Must be used on the main thread.
+ */
+final class FrameStatsTracker implements Choreographer.FrameCallback {
+
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+
+    private long[] mFrameTimes = new long[64];
+    private int mCount;
+    private long mLastFrameTime;
+    private long mStartTime;
+    private long mFrameBudget;
+    private int mType;
+    private long mConfiguredDuration;
+    private boolean mRunning;
+
+    /**
+     * Starts recording, previous recording is discarded.
+     * @param refreshRate display refresh rate, or 0 if unknown.
+     */
+    void start(int type, long configuredDuration, float refreshRate) {
+        if (mRunning) {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        mType = type;
+        mConfiguredDuration = configuredDuration;
+        mFrameBudget = (long) (1_000_000_000L / (refreshRate > 0 ? refreshRate : DEFAULT_REFRESH_RATE));
+        mCount = 0;
+        mLastFrameTime = 0;
+        mStartTime = System.nanoTime();
+        mRunning = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Stops recording.
+     * @return statistics of recorded frames.
+     */
+    @NonNull
+    AnimationStats stop() {
+        Choreographer.getInstance().removeFrameCallback(this);
+        mRunning = false;
+        return AnimationStats.compute(mType, mFrameTimes, mCount, mFrameBudget,
+                System.nanoTime() - mStartTime, mConfiguredDuration);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mRunning) {
+            return;
+        }
+
+        if (mLastFrameTime != 0) {
+            if (mCount == mFrameTimes.length) {
+                mFrameTimes = Arrays.copyOf(mFrameTimes, mCount * 2);
+            }
+            mFrameTimes[mCount++] = frameTimeNanos - mLastFrameTime;
+        }
+        mLastFrameTime = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+}
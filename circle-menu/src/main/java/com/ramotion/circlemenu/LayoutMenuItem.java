@@ -0,0 +1,91 @@
+package com.ramotion.circlemenu;
+
+import android.text.TextUtils;
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+/**
+ * Menu button inflated from {@link R.styleable#CircleMenuView_item_layout}.
+ * Layout may contain ImageView {@code iv_menu}, TextView {@code tv_menu} for label and TextView {@code tv_badge}.
+ */
+final class LayoutMenuItem implements CircleMenuItem {
+
+    private static final String[] sBadgeTexts = new String[100];
+
+    private final View mView;
+    private final ImageView mIcon;
+    private final TextView mLabel;
+    private final TextView mBadge;
+
+    private int mBadgeCount;
+
+    LayoutMenuItem(@NonNull View view) {
+        mView = view;
+        mIcon = view.findViewById(R.id.iv_menu);
+        mLabel = view.findViewById(R.id.tv_menu);
+        mBadge = view.findViewById(R.id.tv_badge);
+
+        if (mBadge != null) {
+            mBadge.setBackground(ContextCompat.getDrawable(view.getContext(), R.drawable.bg_badge_blue));
+        }
+    }
+
+    @NonNull
+    @Override
+    public View getView() {
+        return mView;
+    }
+
+    @Override
+    public void setIcon(@DrawableRes int iconId) {
+        if (mIcon != null) {
+            mIcon.setImageDrawable(DrawableCache.getDefault().get(mView.getContext(), iconId, DrawableCache.NO_TINT));
+        }
+    }
+
+    @Override
+    public void setLabel(@Nullable CharSequence label) {
+        // Same text would still request layout of wrap_content TextView
+        if (mLabel != null && !TextUtils.equals(mLabel.getText(), label)) {
+            mLabel.setText(label);
+        }
+    }
+
+    @Override
+    public void setBadge(int count) {
+        mBadgeCount = count;
+        if (mBadge != null) {
+            final String text = getBadgeText(count);
+            if (!TextUtils.equals(mBadge.getText(), text)) {
+                mBadge.setText(text);
+            }
+            mBadge.setVisibility(count > 0 ? View.VISIBLE : View.INVISIBLE);
+        }
+    }
+
+    @Override
+    public int getBadge() {
+        return mBadgeCount;
+    }
+
+    @NonNull
+    private static String getBadgeText(int count) {
+        if (count < 0 || count >= sBadgeTexts.length) {
+            return String.valueOf(count);
+        }
+
+        String text = sBadgeTexts[count];
+        if (text == null) {
+            text = String.valueOf(count);
+            sBadgeTexts[count] = text;
+        }
+        return text;
+    }
+
+}
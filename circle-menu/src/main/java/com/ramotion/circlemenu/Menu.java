@@ -4,6 +4,7 @@ public class Menu {
     int res;
     String title;
     int badge;
+    int color;
 
     public Menu(int res, String title, int badge) {
         this.res = res;
@@ -11,6 +12,11 @@ public class Menu {
         this.badge = badge;
     }
 
+    public Menu(int res, String title, int badge, int color) {
+        this(res, title, badge);
+        this.color = color;
+    }
+
     public int getRes() {
         return res;
     }
@@ -34,4 +40,12 @@ public class Menu {
     public void setBadge(int badge) {
         this.badge = badge;
     }
+
+    public int getColor() {
+        return color;
+    }
+
+    public void setColor(int color) {
+        this.color = color;
+    }
 }
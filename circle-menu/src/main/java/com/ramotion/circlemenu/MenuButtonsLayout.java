@@ -0,0 +1,69 @@
+package com.ramotion.circlemenu;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.widget.FrameLayout;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Container of {@link CircleMenuView} buttons. Its size is set by the menu and does not depend on buttons,
+ * so layout requests of buttons, like badge and label text changes, are handled here on the next frame
+ * instead of going up through the whole hierarchy.
+ */
+public class MenuButtonsLayout extends FrameLayout {
+
+    private boolean mLayoutScheduled;
+
+    private final Runnable mLayoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mLayoutScheduled = false;
+            // Laid out by a traversal meanwhile
+            if (!isLayoutRequested()) {
+                return;
+            }
+
+            measure(MeasureSpec.makeMeasureSpec(getMeasuredWidth(), MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.EXACTLY));
+            layout(getLeft(), getTop(), getRight(), getBottom());
+        }
+    };
+
+    public MenuButtonsLayout(Context context) {
+        this(context, null);
+    }
+
+    public MenuButtonsLayout(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    @Override
+    public void requestLayout() {
+        if (mLayoutScheduled) {
+            return;
+        }
+
+        // Not laid out yet, or a traversal is already coming
+        if (!isAttachedToWindow() || !isLaidOut() || isLayoutRequested() || isInLayout()) {
+            super.requestLayout();
+            return;
+        }
+
+        forceLayout();
+        mLayoutScheduled = true;
+        postOnAnimation(mLayoutRunnable);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        if (mLayoutScheduled) {
+            mLayoutScheduled = false;
+            removeCallbacks(mLayoutRunnable);
+            super.requestLayout();
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.ramotion.circlemenu;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+/**
+ * Draws menu button content: circular background, icon, badge and label.
+ * Shared by {@link MenuItemView} and buttons drawn by {@link CircleMenuView} itself.
+ */
+final class MenuItemPainter {
+
+    static final int DEFAULT_SIZE = 80;
+    static final int ELEVATION = 5;
+
+    private static final int CIRCLE_SIZE = 50;
+    private static final int ICON_PADDING = 8;
+    private static final int BADGE_SIZE = 20;
+    private static final int BADGE_MARGIN_TOP = 5;
+    private static final int LABEL_TEXT_SIZE = 8;
+    private static final int BADGE_TEXT_SIZE = 12;
+
+    private final Paint mCirclePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mBadgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mBadgeTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mLabelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private final float mCircleRadius;
+    private final float mIconPadding;
+    private final float mBadgeRadius;
+    private final float mBadgeMarginTop;
+
+    MenuItemPainter(@NonNull Context context) {
+        final float density = context.getResources().getDisplayMetrics().density;
+        final float scaledDensity = context.getResources().getDisplayMetrics().scaledDensity;
+        mCircleRadius = CIRCLE_SIZE * density / 2;
+        mIconPadding = ICON_PADDING * density;
+        mBadgeRadius = BADGE_SIZE * density / 2;
+        mBadgeMarginTop = BADGE_MARGIN_TOP * density;
+
+        mBadgeTextPaint.setTextAlign(Paint.Align.CENTER);
+        mLabelPaint.setTextAlign(Paint.Align.CENTER);
+
+        mCirclePaint.setColor(ContextCompat.getColor(context, R.color.blue2));
+        mBadgePaint.setColor(ContextCompat.getColor(context, R.color.blue));
+        mBadgeTextPaint.setColor(Color.WHITE);
+        mBadgeTextPaint.setTextSize(BADGE_TEXT_SIZE * scaledDensity);
+        mLabelPaint.setColor(ContextCompat.getColor(context, R.color.blue2));
+        mLabelPaint.setTextSize(LABEL_TEXT_SIZE * scaledDensity);
+    }
+
+    /**
+     * Draws button content into bounds starting at 0, 0.
+     * @param height button height.
+     * @param badgeChars badge text written by {@link MenuItemView#toChars(int, char[])} starting at badgeStart.
+     */
+    void draw(@NonNull Canvas canvas, float height, @Nullable Drawable icon, @Nullable CharSequence label,
+              int badge, @NonNull char[] badgeChars, int badgeStart) {
+        final float cx = getCircleCenterX();
+        final float cy = height / 2f;
+
+        canvas.drawCircle(cx, cy, mCircleRadius, mCirclePaint);
+
+        if (icon != null) {
+            icon.draw(canvas);
+        }
+
+        if (badge > 0) {
+            final float bx = cx + mCircleRadius - mBadgeRadius;
+            final float by = mBadgeMarginTop + mBadgeRadius;
+            final float baseline = by - (mBadgeTextPaint.descent() + mBadgeTextPaint.ascent()) / 2;
+            canvas.drawCircle(bx, by, mBadgeRadius, mBadgePaint);
+            canvas.drawText(badgeChars, badgeStart, badgeChars.length - badgeStart, bx, baseline, mBadgeTextPaint);
+        }
+
+        if (label != null) {
+            canvas.drawText(label, 0, label.length(), cx, height - mLabelPaint.descent(), mLabelPaint);
+        }
+    }
+
+    /**
+     * Centers icon in the circle, keeping padding.
+     */
+    void setIconBounds(@Nullable Drawable icon, float height) {
+        if (icon == null) {
+            return;
+        }
+
+        final float cx = getCircleCenterX();
+        final float cy = height / 2f;
+        final float maxSize = (mCircleRadius - mIconPadding) * 2;
+        final float w = Math.min(icon.getIntrinsicWidth() > 0 ? icon.getIntrinsicWidth() : maxSize, maxSize);
+        final float h = Math.min(icon.getIntrinsicHeight() > 0 ? icon.getIntrinsicHeight() : maxSize, maxSize);
+        icon.setBounds((int) (cx - w / 2), (int) (cy - h / 2), (int) (cx + w / 2), (int) (cy + h / 2));
+    }
+
+    float getCircleCenterX() {
+        return mCircleRadius;
+    }
+
+    float getCircleRadius() {
+        return mCircleRadius;
+    }
+
+    void setColor(@ColorInt int color) {
+        mCirclePaint.setColor(color);
+    }
+
+    @ColorInt
+    int getColor() {
+        return mCirclePaint.getColor();
+    }
+
+    void setBadgeColor(@ColorInt int color) {
+        mBadgePaint.setColor(color);
+    }
+
+    void setBadgeTextColor(@ColorInt int color) {
+        mBadgeTextPaint.setColor(color);
+    }
+
+    void setBadgeTextSize(float size) {
+        mBadgeTextPaint.setTextSize(size);
+    }
+
+    float getBadgeTextSize() {
+        return mBadgeTextPaint.getTextSize();
+    }
+
+    void setLabelColor(@ColorInt int color) {
+        mLabelPaint.setColor(color);
+    }
+
+    void setLabelSize(float size) {
+        mLabelPaint.setTextSize(size);
+    }
+
+    float getLabelSize() {
+        return mLabelPaint.getTextSize();
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.ramotion.circlemenu;
+
+import android.content.Context;
+import android.content.pm.ActivityInfo;
+import android.content.res.Configuration;
+import android.os.Looper;
+import android.os.MessageQueue;
+
+import java.util.ArrayList;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+/**
+ * Process wide pool of detached {@link MenuItemView}, shared by all CircleMenuView instances.
+ * <p>
+ * Menus take ready-made buttons from the pool instead of creating them and return buttons when
+ * detached from window while closed. Only views with the application context are pooled,
+ * so the pool never holds a reference to an activity. Such views are created by {@link #prewarm(Context, int)}
+ * and are given only to menus whose density, night mode, locale, layout direction and font scale
+ * match the application ones, they don't get the theme of the host activity. When the pool has no matching view, the button is created
+ * with the menu context and is not pooled. Custom {@link R.styleable#CircleMenuView_item_layout} buttons
+ * are not pooled either.
+ * <p>
+ * All methods must be called on the main thread.
+ */
+public final class MenuItemPool {
+
+    private static final int DEFAULT_MAX_RECYCLED_ITEMS = 16;
+    // Configuration changes that affect resources used by a button
+    private static final int APPEARANCE_CHANGES = ActivityInfo.CONFIG_DENSITY
+            | ActivityInfo.CONFIG_UI_MODE
+            | ActivityInfo.CONFIG_LOCALE
+            | ActivityInfo.CONFIG_LAYOUT_DIRECTION
+            | ActivityInfo.CONFIG_FONT_SCALE;
+
+    private static final MenuItemPool sDefault = new MenuItemPool();
+
+    private final ArrayList<MenuItemView> mScrap = new ArrayList<>();
+
+    private int mMaxRecycledItems = DEFAULT_MAX_RECYCLED_ITEMS;
+    private int mPrewarmTarget;
+    private Context mPrewarmContext;
+    private boolean mPrewarmScheduled;
+
+    private final MessageQueue.IdleHandler mPrewarmHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            if (mScrap.size() < mPrewarmTarget) {
+                mScrap.add(new MenuItemView(mPrewarmContext));
+            }
+
+            final boolean keep = mScrap.size() < mPrewarmTarget;
+            if (!keep) {
+                mPrewarmScheduled = false;
+                mPrewarmTarget = 0;
+            }
+            return keep;
+        }
+    };
+
+    /**
+     * @return pool shared by all menus in the process.
+     */
+    @NonNull
+    public static MenuItemPool getDefault() {
+        return sDefault;
+    }
+
+    /**
+     * @param max maximum count of detached buttons kept in the pool.
+     */
+    @MainThread
+    public void setMaxRecycledItems(int max) {
+        mMaxRecycledItems = max;
+        while (mScrap.size() > max) {
+            mScrap.remove(mScrap.size() - 1);
+        }
+    }
+
+    @MainThread
+    public int getMaxRecycledItems() {
+        return mMaxRecycledItems;
+    }
+
+    /**
+     * @return count of detached buttons ready for reuse.
+     */
+    @MainThread
+    public int getRecycledItemCount() {
+        return mScrap.size();
+    }
+
+    /**
+     * Fills the pool up to count buttons when the main thread is idle, one button per idle pass,
+     * so pre-warming does not compete with frames on the critical path.
+     * Buttons are created with the application context and its theme, menus with a different
+     * configuration, like night mode override of an activity, create their own buttons instead.
+     * @param context any context, only its application context is retained.
+     * @param count desired count of buttons in the pool, limited by {@link #getMaxRecycledItems()}.
+     */
+    @MainThread
+    public void prewarm(@NonNull Context context, int count) {
+        mPrewarmContext = context.getApplicationContext();
+        mPrewarmTarget = Math.max(mPrewarmTarget, Math.min(count, mMaxRecycledItems));
+        if (!mPrewarmScheduled && mScrap.size() < mPrewarmTarget) {
+            mPrewarmScheduled = true;
+            Looper.getMainLooper().getQueue().addIdleHandler(mPrewarmHandler);
+        }
+    }
+
+    /**
+     * Drops all pooled buttons and cancels pending pre-warming.
+     */
+    @MainThread
+    public void clear() {
+        mScrap.clear();
+        mPrewarmTarget = 0;
+        if (mPrewarmScheduled) {
+            mPrewarmScheduled = false;
+            Looper.getMainLooper().getQueue().removeIdleHandler(mPrewarmHandler);
+        }
+    }
+
+    /**
+     * @return pooled button compatible with the context, or a new one created with the context.
+     */
+    @NonNull
+    MenuItemView obtain(@NonNull Context context) {
+        final Configuration configuration = context.getResources().getConfiguration();
+        for (int i = mScrap.size() - 1; i >= 0; i--) {
+            if (isCompatible(configuration.diff(mScrap.get(i).getResources().getConfiguration()))) {
+                return mScrap.remove(i);
+            }
+        }
+        return new MenuItemView(context);
+    }
+
+    /**
+     * Activity configuration always differs from the application one in window bounds, orientation and alike,
+     * only changes that affect button look matter.
+     * @param configurationDiff result of {@link Configuration#diff(Configuration)}.
+     * @return true if a button created in one configuration looks the same in the other.
+     */
+    static boolean isCompatible(int configurationDiff) {
+        return (configurationDiff & APPEARANCE_CHANGES) == 0;
+    }
+
+    /**
+     * @return true if button may be kept by the pool, it must not reference an activity.
+     */
+    static boolean isRecyclable(@NonNull MenuItemView item) {
+        return item.getContext() == item.getContext().getApplicationContext();
+    }
+
+    void recycle(@NonNull MenuItemView item) {
+        if (item.getParent() != null || !isRecyclable(item)) {
+            return;
+        }
+
+        if (mScrap.size() < mMaxRecycledItems) {
+            item.reset();
+            mScrap.add(item);
+        }
+    }
+
+}
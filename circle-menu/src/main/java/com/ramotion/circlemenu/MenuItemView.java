@@ -0,0 +1,262 @@
+package com.ramotion.circlemenu;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Outline;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewOutlineProvider;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+/**
+ * Menu button drawn as a single view: circular background, icon, badge and label.
+ * Replaces the nested layout of {@code floating_layout} and supports the same look.
+ */
+public class MenuItemView extends View implements CircleMenuItem {
+
+    private final MenuItemPainter mPainter;
+    private final char[] mBadgeChars = new char[11];
+    private final int mDefaultSize;
+    @ColorInt
+    private final int mDefaultColor;
+
+    private Drawable mIcon;
+    private int mIconId;
+    @ColorInt
+    private int mIconColor;
+    private CharSequence mLabel;
+    private int mBadge;
+    private int mBadgeStart;
+
+    public MenuItemView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public MenuItemView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+
+        final float density = context.getResources().getDisplayMetrics().density;
+        mPainter = new MenuItemPainter(context);
+        mDefaultSize = (int) (MenuItemPainter.DEFAULT_SIZE * density);
+
+        final int iconId;
+        final CharSequence label;
+        final int badge;
+
+        final TypedArray a = context.getTheme().obtainStyledAttributes(attrs, R.styleable.MenuItemView, 0, 0);
+        try {
+            iconId = a.getResourceId(R.styleable.MenuItemView_item_icon, 0);
+            label = a.getText(R.styleable.MenuItemView_item_label);
+            badge = a.getInteger(R.styleable.MenuItemView_item_badge, 0);
+
+            mDefaultColor = a.getColor(R.styleable.MenuItemView_item_color,
+                    ContextCompat.getColor(context, R.color.blue2));
+            mPainter.setColor(mDefaultColor);
+            mIconColor = a.getColor(R.styleable.MenuItemView_item_icon_color, Color.WHITE);
+            mPainter.setBadgeColor(a.getColor(R.styleable.MenuItemView_item_badge_color,
+                    ContextCompat.getColor(context, R.color.blue)));
+            mPainter.setBadgeTextColor(a.getColor(R.styleable.MenuItemView_item_badge_text_color, Color.WHITE));
+            mPainter.setBadgeTextSize(a.getDimension(R.styleable.MenuItemView_item_badge_text_size,
+                    mPainter.getBadgeTextSize()));
+            mPainter.setLabelColor(a.getColor(R.styleable.MenuItemView_item_label_color,
+                    ContextCompat.getColor(context, R.color.blue2)));
+            mPainter.setLabelSize(a.getDimension(R.styleable.MenuItemView_item_label_size,
+                    mPainter.getLabelSize()));
+        } finally {
+            a.recycle();
+        }
+
+        setIcon(iconId);
+        setLabel(label);
+        setBadge(badge);
+
+        setElevation(MenuItemPainter.ELEVATION * density);
+        setOutlineProvider(new ViewOutlineProvider() {
+            @Override
+            public void getOutline(View view, Outline outline) {
+                final int cx = (int) getCircleCenterX();
+                final int cy = (int) getCircleCenterY();
+                final int r = (int) mPainter.getCircleRadius();
+                outline.setOval(cx - r, cy - r, cx + r, cy + r);
+            }
+        });
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(
+                resolveSize(mDefaultSize, widthMeasureSpec),
+                resolveSize(mDefaultSize, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateIconBounds();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        mPainter.draw(canvas, getHeight(), mIcon, mLabel, mBadge, mBadgeChars, mBadgeStart);
+    }
+
+    @NonNull
+    @Override
+    public View getView() {
+        return this;
+    }
+
+    @Override
+    public void setIcon(@DrawableRes int iconId) {
+        if (iconId == mIconId && mIcon != null) {
+            return;
+        }
+
+        mIconId = iconId;
+        mIcon = DrawableCache.getDefault().get(getContext(), iconId, mIconColor);
+        updateIconBounds();
+        invalidate();
+    }
+
+    @DrawableRes
+    public int getIcon() {
+        return mIconId;
+    }
+
+    public void setIconColor(@ColorInt int color) {
+        if (color == mIconColor) {
+            return;
+        }
+
+        mIconColor = color;
+        if (mIcon != null) {
+            // Icon state is shared through the cache, take the drawable with the new tint
+            mIcon = null;
+            setIcon(mIconId);
+        }
+    }
+
+    @ColorInt
+    public int getIconColor() {
+        return mIconColor;
+    }
+
+    @Override
+    public void setLabel(@Nullable CharSequence label) {
+        mLabel = label;
+        invalidate();
+    }
+
+    @Nullable
+    public CharSequence getLabel() {
+        return mLabel;
+    }
+
+    @Override
+    public void setBadge(int count) {
+        if (count == mBadge) {
+            return;
+        }
+
+        mBadge = count;
+        mBadgeStart = toChars(count, mBadgeChars);
+        invalidate();
+    }
+
+    @Override
+    public int getBadge() {
+        return mBadge;
+    }
+
+    /**
+     * @param color circle background color.
+     */
+    public void setColor(@ColorInt int color) {
+        if (color == mPainter.getColor()) {
+            return;
+        }
+
+        mPainter.setColor(color);
+        invalidate();
+    }
+
+    @ColorInt
+    public int getColor() {
+        return mPainter.getColor();
+    }
+
+    public void setBadgeColor(@ColorInt int color) {
+        mPainter.setBadgeColor(color);
+        invalidate();
+    }
+
+    public void setLabelColor(@ColorInt int color) {
+        mPainter.setLabelColor(color);
+        invalidate();
+    }
+
+    @Override
+    public boolean hasOverlappingRendering() {
+        return false;
+    }
+
+    /**
+     * Clears content and view properties before the button is pooled.
+     */
+    void reset() {
+        setOnClickListener(null);
+        setTranslationX(0);
+        setTranslationY(0);
+        setScaleX(1f);
+        setScaleY(1f);
+        setRotation(0);
+        setAlpha(1f);
+        setVisibility(VISIBLE);
+        setLayerType(LAYER_TYPE_NONE, null);
+        setLabel(null);
+        setBadge(0);
+        setColor(mDefaultColor);
+    }
+
+    float getCircleCenterX() {
+        return mPainter.getCircleCenterX();
+    }
+
+    float getCircleCenterY() {
+        return getHeight() / 2f;
+    }
+
+    private void updateIconBounds() {
+        mPainter.setIconBounds(mIcon, getHeight());
+    }
+
+    /**
+     * Writes decimal value to the end of buffer without allocations.
+     * @return index of the first char.
+     */
+    static int toChars(int value, @NonNull char[] buffer) {
+        int pos = buffer.length;
+        long v = value;
+        final boolean negative = v < 0;
+        if (negative) {
+            v = -v;
+        }
+        do {
+            buffer[--pos] = (char) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        return pos;
+    }
+
+}
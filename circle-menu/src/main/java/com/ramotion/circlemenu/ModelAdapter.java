@@ -0,0 +1,42 @@
+package com.ramotion.circlemenu;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Adapter of a swappable {@link CircleMenuModel}, reused by a CircleMenuView for all bound models.
+ */
+final class ModelAdapter extends CircleMenuAdapter {
+
+    private CircleMenuModel mModel;
+
+    /**
+     * Replaces model without notification.
+     */
+    void setModel(@Nullable CircleMenuModel model) {
+        mModel = model;
+    }
+
+    @Nullable
+    CircleMenuModel getModel() {
+        return mModel;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mModel != null ? mModel.getCount() : 0;
+    }
+
+    @Override
+    public void onBindItem(@NonNull CircleMenuItem item, int position) {
+        item.setIcon(mModel.getIcon(position));
+        item.setLabel(mModel.getLabel(position));
+        item.setBadge(mModel.getBadge(position));
+    }
+
+    @Override
+    public int getItemColor(int position) {
+        return mModel.getColor(position);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.ramotion.circlemenu;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.provider.Settings;
+import android.view.WindowManager;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+/**
+ * Picks quality tier of {@link CircleMenuView} effects from device properties,
+ * and lowers it when animations keep dropping frames.
+ */
+final class QualityController {
+
+    /** Share of dropped frames above which an animation counts as slow. */
+    static final float MAX_DROPPED_RATIO = 0.2f;
+    /** Count of slow animations in a row that lowers the tier. */
+    static final int SLOW_STREAK = 2;
+    /** Refresh rate above which the frame budget is too tight for item shadows. */
+    static final float HIGH_REFRESH_RATE = 60.5f;
+
+    private static final int TIER_UNSET = -1;
+
+    /** Tier picked from device properties, looked up once per process. */
+    private static int sAutoTier = TIER_UNSET;
+
+    private int mTier;
+    private final boolean mAdaptive;
+    private int mSlowStreak;
+
+    /**
+     * @param tier initial tier, one of CircleMenuView QUALITY_ constants except auto.
+     * @param adaptive lower tier at runtime or not.
+     */
+    QualityController(int tier, boolean adaptive) {
+        mTier = tier;
+        mAdaptive = adaptive;
+    }
+
+    /**
+     * @param lowRam {@link android.app.ActivityManager#isLowRamDevice()}.
+     * @param durationScale system animator duration scale, 1 by default.
+     * @param refreshRate display refresh rate, or 0 if unknown.
+     * @return initial tier for the device.
+     */
+    static int pickTier(boolean lowRam, float durationScale, float refreshRate) {
+        if (lowRam || durationScale == 0) {
+            return CircleMenuView.QUALITY_LOW;
+        }
+        if (durationScale < 1f || refreshRate > HIGH_REFRESH_RATE) {
+            return CircleMenuView.QUALITY_MEDIUM;
+        }
+        return CircleMenuView.QUALITY_HIGH;
+    }
+
+    /**
+     * @param context any context, device properties are read on the first call only.
+     * @return initial tier for the device, see {@link #pickTier(boolean, float, float)}.
+     */
+    @MainThread
+    static int getAutoTier(@NonNull Context context) {
+        if (sAutoTier == TIER_UNSET) {
+            final ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+            final WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+            final boolean lowRam = activityManager != null && activityManager.isLowRamDevice();
+            final float durationScale = Settings.Global.getFloat(context.getContentResolver(),
+                    Settings.Global.ANIMATOR_DURATION_SCALE, 1f);
+            final float refreshRate = windowManager != null ? windowManager.getDefaultDisplay().getRefreshRate() : 0f;
+            sAutoTier = pickTier(lowRam, durationScale, refreshRate);
+        }
+        return sAutoTier;
+    }
+
+    int getTier() {
+        return mTier;
+    }
+
+    boolean isAdaptive() {
+        return mAdaptive;
+    }
+
+    /**
+     * @param stats frame statistics of finished animation.
+     * @return true if tier was lowered.
+     */
+    boolean onAnimationStats(@NonNull AnimationStats stats) {
+        if (!mAdaptive || mTier == CircleMenuView.QUALITY_LOW || stats.getFrameCount() == 0) {
+            return false;
+        }
+
+        if (stats.getDroppedFrames() <= stats.getFrameCount() * MAX_DROPPED_RATIO) {
+            mSlowStreak = 0;
+            return false;
+        }
+
+        if (++mSlowStreak < SLOW_STREAK) {
+            return false;
+        }
+
+        mSlowStreak = 0;
+        mTier--;
+        return true;
+    }
+
+}
@@ -4,6 +4,7 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.RectF;
 import android.util.AttributeSet;
 import android.view.View;
 
@@ -13,14 +14,23 @@ import androidx.annotation.Nullable;
 
 public class RingEffectView extends View {
 
-    private static final int STEP_DEGREE = 5;
+    // Room for antialiasing and hairline stroke around the ring
+    private static final int RING_MARGIN = 1;
 
     private final Paint mPaint;
     private final Path mPath = new Path();
+    private final RectF mOval = new RectF();
+    private final RingPolyline.Target mPathTarget = new RingPolyline.Target() {
+        @Override
+        public void lineTo(float x, float y) {
+            mPath.lineTo(x, y);
+        }
+    };
 
     private float mAngle;
     private float mStartAngle;
     private int mRadius;
+    private boolean mPolylineMode;
 
     public RingEffectView(Context context) {
         this(context, null);
@@ -38,23 +48,36 @@ public class RingEffectView extends View {
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
-        if (!mPath.isEmpty()) {
-            canvas.save();
-            canvas.translate(getWidth() / 2, getHeight() / 2);
+        if (mPolylineMode ? mPath.isEmpty() : mAngle == 0) {
+            return;
+        }
+
+        canvas.save();
+        canvas.translate(getWidth() / 2, getHeight() / 2);
+        if (mPolylineMode) {
             canvas.drawPath(mPath, mPaint);
-            canvas.restore();
+        } else {
+            canvas.drawArc(mOval, mStartAngle, mAngle, false, mPaint);
         }
+        canvas.restore();
     }
 
+    /**
+     * Measures to the ring bounding box, so redraws and hardware layer are limited to the ring.
+     */
     @Override
-    public void setAlpha(@FloatRange(from = 0.0, to = 1.0) float alpha) {
-        mPaint.setAlpha((int)(255 * alpha));
-        invalidate();
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        final int size = getRingSize();
+        setMeasuredDimension(resolveSize(size, widthMeasureSpec), resolveSize(size, heightMeasureSpec));
     }
 
+    /**
+     * Single stroke never overlaps itself, so alpha and scale fades are applied
+     * to the render node without an offscreen buffer or redraw.
+     */
     @Override
-    public float getAlpha() {
-        return mPaint.getAlpha() / 255;
+    public boolean hasOverlappingRendering() {
+        return false;
     }
 
     public float getAngle() {
@@ -62,24 +85,14 @@ public class RingEffectView extends View {
     }
 
     public void setAngle(@FloatRange(from = 0.0, to = 360.0) float angle) {
-        final float diff = angle - mAngle;
-        final int stepCount = (int) (diff / STEP_DEGREE);
-        final float stepMod = diff % STEP_DEGREE;
-
-        final float sw = mPaint.getStrokeWidth() * 0.5f;
-        final float radius = mRadius - sw;
-
-        for (int i = 1; i <= stepCount; i++ ) {
-            final float stepAngel = mStartAngle + mAngle + STEP_DEGREE * i;
-            final float x = (float) Math.cos(Math.toRadians(stepAngel)) * radius;
-            final float y = (float) Math.sin(Math.toRadians(stepAngel)) * radius;
-            mPath.lineTo(x, y);
+        if (!mPolylineMode) {
+            mAngle = angle;
+            invalidate();
+            return;
         }
 
-        final float stepAngel = mStartAngle + mAngle + STEP_DEGREE * stepCount + stepMod;
-        final float x = (float) Math.cos(Math.toRadians(stepAngel)) * radius;
-        final float y = (float) Math.sin(Math.toRadians(stepAngel)) * radius;
-        mPath.lineTo(x, y);
+        final float sw = mPaint.getStrokeWidth() * 0.5f;
+        RingPolyline.append(mStartAngle, mAngle, angle, mRadius - sw, mPathTarget);
 
         mAngle = angle;
 
@@ -94,10 +107,14 @@ public class RingEffectView extends View {
         mStartAngle = startAngle;
         mAngle = 0;
 
+        mPath.reset();
+        if (!mPolylineMode) {
+            return;
+        }
+
         final float sw = mPaint.getStrokeWidth() * 0.5f;
         final float radius = mRadius - sw;
 
-        mPath.reset();
         final float x = (float) Math.cos(Math.toRadians(startAngle)) * radius;
         final float y = (float) Math.sin(Math.toRadians(startAngle)) * radius;
         mPath.moveTo(x, y);
@@ -109,14 +126,52 @@ public class RingEffectView extends View {
 
     public void setStrokeWidth(int width) {
         mPaint.setStrokeWidth(width);
+        updateOval();
     }
 
     public void setRadius(int radius) {
+        if (mRadius == radius) {
+            return;
+        }
+
         mRadius = radius;
+        updateOval();
+        requestLayout();
     }
 
     public int getRadius() {
         return mRadius;
     }
 
+    /**
+     * Polyline mode builds the ring path segment by segment while the angle grows.
+     * Default arc mode draws a single sweep, so per frame cost does not depend on the angle.
+     * @param polylineMode true to draw the ring as a polyline.
+     */
+    public void setPolylineMode(boolean polylineMode) {
+        if (mPolylineMode == polylineMode) {
+            return;
+        }
+
+        mPolylineMode = polylineMode;
+        setStartAngle(mStartAngle);
+        invalidate();
+    }
+
+    public boolean isPolylineMode() {
+        return mPolylineMode;
+    }
+
+    /**
+     * @return side of the ring bounding box. Stroke is inside of the radius.
+     */
+    private int getRingSize() {
+        return (mRadius + RING_MARGIN) * 2;
+    }
+
+    private void updateOval() {
+        final float radius = mRadius - mPaint.getStrokeWidth() * 0.5f;
+        mOval.set(-radius, -radius, radius, radius);
+    }
+
 }
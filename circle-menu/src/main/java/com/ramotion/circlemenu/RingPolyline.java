@@ -0,0 +1,48 @@
+package com.ramotion.circlemenu;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Point math of the ring drawn as a polyline by {@link RingEffectView}.
+ * <p>
+ * While the ring angle grows, a point is appended every {@link #STEP_DEGREE} degrees,
+ * plus the point at the current angle. Points are relative to the ring center.
+ */
+public final class RingPolyline {
+
+    /** Angle between polyline points, in degrees. */
+    public static final int STEP_DEGREE = 5;
+
+    /**
+     * Receives polyline points.
+     */
+    public interface Target {
+        void lineTo(float x, float y);
+    }
+
+    private RingPolyline() {}
+
+    /**
+     * Appends points of the ring grown from one angle to another.
+     * @param startAngle angle where the ring starts, in degrees.
+     * @param from angle already drawn, relative to startAngle.
+     * @param to new angle, relative to startAngle.
+     * @param radius ring radius.
+     */
+    public static void append(float startAngle, float from, float to, float radius, @NonNull Target target) {
+        final float diff = to - from;
+        final int stepCount = (int) (diff / STEP_DEGREE);
+        final float stepMod = diff % STEP_DEGREE;
+
+        for (int i = 1; i <= stepCount; i++) {
+            lineTo(startAngle + from + STEP_DEGREE * i, radius, target);
+        }
+        lineTo(startAngle + from + STEP_DEGREE * stepCount + stepMod, radius, target);
+    }
+
+    private static void lineTo(float angle, float radius, @NonNull Target target) {
+        final double radians = Math.toRadians(angle);
+        target.lineTo((float) Math.cos(radians) * radius, (float) Math.sin(radians) * radius);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.ramotion.circlemenu;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnimationStatsTest {
+
+    private static final long BUDGET = 16_000_000L;
+
+    @Test
+    public void compute_smoothFrames() {
+        final long[] frames = {BUDGET, BUDGET, BUDGET, BUDGET};
+        final AnimationStats stats = AnimationStats.compute(AnimationStats.TYPE_OPEN, frames, 4, BUDGET, 64_000_000L, 60);
+
+        assertEquals(AnimationStats.TYPE_OPEN, stats.getType());
+        assertEquals(4, stats.getFrameCount());
+        assertEquals(0, stats.getDroppedFrames());
+        assertEquals(16f, stats.getMaxFrameTime(), 0.001f);
+        assertEquals(16f, stats.getP95FrameTime(), 0.001f);
+        assertEquals(64f, stats.getDuration(), 0.001f);
+        assertEquals(60, stats.getConfiguredDuration());
+    }
+
+    @Test
+    public void compute_countsSkippedFrames() {
+        final long[] frames = {BUDGET, BUDGET * 3, BUDGET + BUDGET / 4, BUDGET * 2};
+        final AnimationStats stats = AnimationStats.compute(AnimationStats.TYPE_RING, frames, 4, BUDGET, 0, 0);
+
+        assertEquals(3, stats.getDroppedFrames());
+        assertEquals(48f, stats.getMaxFrameTime(), 0.001f);
+    }
+
+    @Test
+    public void compute_p95IgnoresSingleOutlierOfMany() {
+        final long[] frames = new long[100];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = BUDGET;
+        }
+        frames[42] = BUDGET * 10;
+
+        final AnimationStats stats = AnimationStats.compute(AnimationStats.TYPE_CLOSE, frames, 100, BUDGET, 0, 0);
+
+        assertEquals(16f, stats.getP95FrameTime(), 0.001f);
+        assertEquals(160f, stats.getMaxFrameTime(), 0.001f);
+    }
+
+    @Test
+    public void compute_usesOnlyCountValues() {
+        final long[] frames = {BUDGET, BUDGET * 5, 0};
+        final AnimationStats stats = AnimationStats.compute(AnimationStats.TYPE_OPEN, frames, 1, BUDGET, 0, 0);
+
+        assertEquals(1, stats.getFrameCount());
+        assertEquals(0, stats.getDroppedFrames());
+    }
+
+    @Test
+    public void compute_noFrames() {
+        final AnimationStats stats = AnimationStats.compute(AnimationStats.TYPE_OPEN, new long[0], 0, BUDGET, 0, 0);
+
+        assertEquals(0, stats.getFrameCount());
+        assertEquals(0f, stats.getP95FrameTime(), 0f);
+    }
+
+}
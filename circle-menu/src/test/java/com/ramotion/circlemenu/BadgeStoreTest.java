@@ -0,0 +1,98 @@
+package com.ramotion.circlemenu;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BadgeStoreTest {
+
+    private final List<String> applied = new ArrayList<>();
+    private final BadgeStore.Target target = new BadgeStore.Target() {
+        @Override
+        public void onBadgeChanged(int index, int count) {
+            applied.add(index + "=" + count);
+        }
+    };
+
+    private BadgeStore store;
+
+    @Before
+    public void setUp() {
+        store = new BadgeStore();
+        store.setCount(3);
+        for (int i = 0; i < 3; i++) {
+            store.onBound(i, 0);
+        }
+    }
+
+    @Test
+    public void setAll_coalescesToLastValues() {
+        assertTrue(store.setAll(new int[] {1, 2, 3}));
+        store.setAll(new int[] {4, 2, 0});
+        store.apply(target);
+
+        assertEquals(Arrays.asList("0=4", "1=2"), applied);
+        assertFalse(store.isDirty());
+    }
+
+    @Test
+    public void setAll_includesLastElement_ignoresExtra() {
+        store.setAll(new int[] {0, 0, 7, 9});
+        store.apply(target);
+
+        assertEquals(Arrays.asList("2=7"), applied);
+    }
+
+    @Test
+    public void set_unchangedValue_notDirty() {
+        assertFalse(store.set(1, 0));
+        store.apply(target);
+
+        assertTrue(applied.isEmpty());
+    }
+
+    @Test
+    public void onBound_keepsRequestedValue() {
+        assertEquals(BadgeStore.UNSET, store.onBound(0, 5));
+        store.set(1, 3);
+        store.apply(target);
+
+        assertEquals(3, store.onBound(1, 0));
+        assertFalse(store.set(1, 3));
+    }
+
+    @Test
+    public void insertAndRemove_shiftValues() {
+        store.setAll(new int[] {1, 2, 3});
+        store.apply(target);
+
+        store.insert(1);
+        assertEquals(4, store.getCount());
+        assertEquals(1, store.get(0));
+        assertEquals(BadgeStore.UNSET, store.get(1));
+        assertEquals(2, store.get(2));
+
+        store.remove(0);
+        assertEquals(3, store.getCount());
+        assertEquals(BadgeStore.UNSET, store.get(0));
+        assertEquals(3, store.get(2));
+    }
+
+    @Test
+    public void clear_dropsRequestedValues() {
+        store.setAll(new int[] {1, 2, 3});
+        store.clear();
+        assertEquals(0, store.getCount());
+        assertFalse(store.isDirty());
+
+        store.setCount(2);
+        assertEquals(BadgeStore.UNSET, store.get(0));
+        assertEquals(BadgeStore.UNSET, store.get(1));
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.ramotion.circlemenu;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CircleGeometryTest {
+
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void setup_fullCircle_matchesTrigonometry() {
+        final CircleGeometry geometry = new CircleGeometry();
+        geometry.setup(5, 100f);
+
+        assertEquals(5, geometry.getCount());
+        assertEquals(72f, geometry.getAngleStep(), DELTA);
+
+        for (int i = 0; i < 5; i++) {
+            final double radians = Math.toRadians(72f * i - 90);
+            assertEquals((float) Math.cos(radians), geometry.getUnitX(i), DELTA);
+            assertEquals((float) Math.sin(radians), geometry.getUnitY(i), DELTA);
+            assertEquals((float) Math.cos(radians) * 100f, geometry.getOffsetX(i), DELTA);
+            assertEquals((float) Math.sin(radians) * 100f, geometry.getOffsetY(i), DELTA);
+            assertEquals((float) Math.cos(radians) * 40f, geometry.getX(i, 40f), DELTA);
+            assertEquals((float) Math.sin(radians) * 40f, geometry.getY(i, 40f), DELTA);
+        }
+    }
+
+    @Test
+    public void getAngle_isNormalized() {
+        final CircleGeometry geometry = new CircleGeometry();
+        geometry.setup(4, 10f);
+
+        assertEquals(270f, geometry.getAngle(0), DELTA);
+        assertEquals(0f, geometry.getAngle(1), DELTA);
+        assertEquals(90f, geometry.getAngle(2), DELTA);
+        assertEquals(180f, geometry.getAngle(3), DELTA);
+    }
+
+    @Test
+    public void setup_unchangedValues_skipsRecalculation() {
+        final CircleGeometry geometry = new CircleGeometry();
+
+        assertTrue(geometry.setup(6, 50f));
+        assertFalse(geometry.setup(6, 50f));
+        assertTrue(geometry.setup(6, 60f));
+        assertTrue(geometry.setup(7, 60f));
+        assertFalse(geometry.setAngles(CircleGeometry.DEFAULT_START_ANGLE, CircleGeometry.FULL_SWEEP));
+    }
+
+    @Test
+    public void setup_distanceChange_keepsDirections() {
+        final CircleGeometry geometry = new CircleGeometry();
+        geometry.setup(3, 10f);
+        final float unitX = geometry.getUnitX(1);
+
+        geometry.setup(3, 20f);
+
+        assertEquals(unitX, geometry.getUnitX(1), 0f);
+        assertEquals(unitX * 20f, geometry.getOffsetX(1), DELTA);
+    }
+
+    @Test
+    public void setAngles_partialSweep_includesBothEnds() {
+        final CircleGeometry geometry = new CircleGeometry();
+        geometry.setup(3, 1f);
+        geometry.setAngles(0f, 180f);
+
+        assertEquals(90f, geometry.getAngleStep(), DELTA);
+        assertEquals(1f, geometry.getUnitX(0), DELTA);
+        assertEquals(1f, geometry.getUnitY(1), DELTA);
+        assertEquals(-1f, geometry.getUnitX(2), DELTA);
+    }
+
+    @Test
+    public void setup_emptyMenu() {
+        final CircleGeometry geometry = new CircleGeometry();
+        geometry.setup(0, 100f);
+
+        assertEquals(0, geometry.getCount());
+        assertEquals(0f, geometry.getAngleStep(), 0f);
+    }
+
+    @Test
+    public void getIndexAt_fullCircle_mapsSectors() {
+        final CircleGeometry geometry = new CircleGeometry();
+        geometry.setup(4, 100f);
+
+        assertEquals(0, geometry.getIndexAt(0f, -100f, 10f));
+        assertEquals(1, geometry.getIndexAt(100f, 0f, 10f));
+        assertEquals(2, geometry.getIndexAt(10f, 95f, 10f));
+        assertEquals(3, geometry.getIndexAt(-100f, 5f, 10f));
+        // Just before the start angle
+        assertEquals(0, geometry.getIndexAt(-5f, -100f, 10f));
+    }
+
+    @Test
+    public void getIndexAt_outsideRing_returnsNone() {
+        final CircleGeometry geometry = new CircleGeometry();
+        geometry.setup(4, 100f);
+
+        assertEquals(-1, geometry.getIndexAt(0f, -80f, 10f));
+        assertEquals(-1, geometry.getIndexAt(0f, -120f, 10f));
+        assertEquals(0, geometry.getIndexAt(0f, -120f, 20f));
+        assertEquals(-1, new CircleGeometry().getIndexAt(0f, 0f, 10f));
+    }
+
+    @Test
+    public void getIndexAt_partialSweep_excludesGap() {
+        final CircleGeometry geometry = new CircleGeometry();
+        geometry.setup(3, 100f);
+        geometry.setAngles(0f, 180f);
+
+        assertEquals(0, geometry.getIndexAt(100f, -5f, 10f));
+        assertEquals(1, geometry.getIndexAt(0f, 100f, 10f));
+        assertEquals(2, geometry.getIndexAt(-100f, -5f, 10f));
+        assertEquals(-1, geometry.getIndexAt(0f, -100f, 10f));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setup_negativeCount_throws() {
+        new CircleGeometry().setup(-1, 0f);
+    }
+
+}
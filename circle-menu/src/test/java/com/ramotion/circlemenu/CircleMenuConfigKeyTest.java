@@ -0,0 +1,62 @@
+package com.ramotion.circlemenu;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CircleMenuConfigKeyTest {
+
+    @Test
+    public void equals_sameDeclaration() {
+        final CircleMenuConfig.Key key = new CircleMenuConfig.Key();
+        key.reset(0);
+        key.add(1, "@array/icons");
+        key.add(2, "300");
+
+        final CircleMenuConfig.Key copy = new CircleMenuConfig.Key(key);
+
+        assertEquals(key, copy);
+        assertEquals(key.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void equals_hashCollision_notEqual() {
+        // "Aa" and "BB" have the same String hash
+        final CircleMenuConfig.Key first = new CircleMenuConfig.Key();
+        first.reset(0);
+        first.add(1, "Aa");
+        final CircleMenuConfig.Key second = new CircleMenuConfig.Key();
+        second.reset(0);
+        second.add(1, "BB");
+
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void equals_differentStyle_notEqual() {
+        final CircleMenuConfig.Key first = new CircleMenuConfig.Key();
+        first.reset(1);
+        final CircleMenuConfig.Key second = new CircleMenuConfig.Key();
+        second.reset(2);
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void reset_reusesKeyForNewDeclaration() {
+        final CircleMenuConfig.Key key = new CircleMenuConfig.Key();
+        key.reset(0);
+        key.add(1, "a");
+        final CircleMenuConfig.Key stored = new CircleMenuConfig.Key(key);
+
+        key.reset(0);
+        key.add(1, "b");
+        assertNotEquals(stored, key);
+
+        key.reset(0);
+        key.add(1, "a");
+        assertEquals(stored, key);
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.ramotion.circlemenu;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+
+import static org.junit.Assert.*;
+
+public class CircleMenuDiffTest {
+
+    /**
+     * Adapter over a list of ids, records notifications and applies them to a mirror list.
+     */
+    private static class RecordingAdapter extends CircleMenuAdapter implements CircleMenuAdapter.Observer {
+        final List<String> events = new ArrayList<>();
+        final List<Long> mirror = new ArrayList<>();
+        long[] ids;
+
+        RecordingAdapter(long[] oldIds, long[] newIds) {
+            for (long id : oldIds) {
+                mirror.add(id);
+            }
+            ids = newIds;
+            registerObserver(this);
+        }
+
+        @Override
+        public int getItemCount() {
+            return ids.length;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return ids[position];
+        }
+
+        @Override
+        public void onBindItem(@NonNull CircleMenuItem item, int position) {}
+
+        @Override
+        public void onChanged() {
+            events.add("all");
+        }
+
+        @Override
+        public void onItemChanged(int position) {
+            events.add("change " + position);
+        }
+
+        @Override
+        public void onItemInserted(int position) {
+            events.add("insert " + position);
+            mirror.add(position, getItemId(position));
+        }
+
+        @Override
+        public void onItemRemoved(int position) {
+            events.add("remove " + position);
+            mirror.remove(position);
+        }
+
+        void assertMirrorsIds() {
+            final Long[] expected = new Long[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                expected[i] = ids[i];
+            }
+            assertArrayEquals(expected, mirror.toArray(new Long[0]));
+        }
+    }
+
+    private static RecordingAdapter dispatch(long[] oldIds, long[] newIds) {
+        final RecordingAdapter adapter = new RecordingAdapter(oldIds, newIds);
+        CircleMenuDiff.dispatchUpdates(CircleMenuDiff.forIds(oldIds, newIds), adapter);
+        adapter.assertMirrorsIds();
+        return adapter;
+    }
+
+    @Test
+    public void sameIds_noUpdates() {
+        final RecordingAdapter adapter = dispatch(new long[] {1, 2, 3}, new long[] {1, 2, 3});
+        assertTrue(adapter.events.isEmpty());
+    }
+
+    @Test
+    public void singleInsertion() {
+        final RecordingAdapter adapter = dispatch(new long[] {1, 2, 3}, new long[] {1, 4, 2, 3});
+        assertEquals(Arrays.asList("insert 1"), adapter.events);
+    }
+
+    @Test
+    public void singleRemoval() {
+        final RecordingAdapter adapter = dispatch(new long[] {1, 2, 3}, new long[] {1, 3});
+        assertEquals(Arrays.asList("remove 1"), adapter.events);
+    }
+
+    @Test
+    public void removalsDispatchedFromEnd() {
+        final RecordingAdapter adapter = dispatch(new long[] {1, 2, 3, 4}, new long[] {2, 4});
+        assertEquals(Arrays.asList("remove 2", "remove 0"), adapter.events);
+    }
+
+    @Test
+    public void mixedChanges() {
+        dispatch(new long[] {1, 2, 3, 4, 5}, new long[] {6, 2, 5, 4, 7});
+        dispatch(new long[] {}, new long[] {1, 2});
+        dispatch(new long[] {1, 2}, new long[] {});
+        dispatch(new long[] {1, 2, 3}, new long[] {3, 2, 1});
+    }
+
+    @Test
+    public void changedContents_rebindsNewPosition() {
+        final long[] oldIds = {1, 2, 3};
+        final long[] newIds = {0, 1, 2, 3};
+        final RecordingAdapter adapter = new RecordingAdapter(oldIds, newIds);
+        final CircleMenuDiff.Callback ids = CircleMenuDiff.forIds(oldIds, newIds);
+
+        CircleMenuDiff.dispatchUpdates(new CircleMenuDiff.Callback() {
+            @Override
+            public int getOldSize() {
+                return ids.getOldSize();
+            }
+
+            @Override
+            public int getNewSize() {
+                return ids.getNewSize();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return ids.areItemsTheSame(oldPosition, newPosition);
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return oldIds[oldPosition] != 2;
+            }
+        }, adapter);
+
+        assertEquals(Arrays.asList("insert 0", "change 2"), adapter.events);
+        adapter.assertMirrorsIds();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.ramotion.circlemenu;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CircleMenuTimingsTest {
+
+    @Test
+    public void add_accumulatesPerSpan() {
+        final CircleMenuTimings timings = new CircleMenuTimings();
+        timings.add(CircleMenuTimings.SPAN_MEASURE, 100);
+        timings.add(CircleMenuTimings.SPAN_MEASURE, 50);
+        timings.add(CircleMenuTimings.SPAN_PARSE, 7);
+
+        assertEquals(2, timings.getCount(CircleMenuTimings.SPAN_MEASURE));
+        assertEquals(150, timings.getTotalNanos(CircleMenuTimings.SPAN_MEASURE));
+        assertEquals(50, timings.getLastNanos(CircleMenuTimings.SPAN_MEASURE));
+        assertEquals(1, timings.getCount(CircleMenuTimings.SPAN_PARSE));
+        assertEquals(0, timings.getCount(CircleMenuTimings.SPAN_LAYOUT));
+    }
+
+    @Test
+    public void copy_isSnapshot() {
+        final CircleMenuTimings timings = new CircleMenuTimings();
+        timings.add(CircleMenuTimings.SPAN_OPEN, 10);
+
+        final CircleMenuTimings snapshot = new CircleMenuTimings(timings);
+        timings.add(CircleMenuTimings.SPAN_OPEN, 20);
+        timings.reset();
+
+        assertEquals(1, snapshot.getCount(CircleMenuTimings.SPAN_OPEN));
+        assertEquals(10, snapshot.getTotalNanos(CircleMenuTimings.SPAN_OPEN));
+        assertEquals(0, timings.getCount(CircleMenuTimings.SPAN_OPEN));
+    }
+
+    @Test
+    public void getName_everySpanHasName() {
+        for (int i = 0; i < CircleMenuTimings.SPAN_COUNT; i++) {
+            assertNotNull(CircleMenuTimings.getName(i));
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.ramotion.circlemenu;
+
+import android.content.pm.ActivityInfo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MenuItemPoolTest {
+
+    // Hidden ActivityInfo.CONFIG_WINDOW_CONFIGURATION, set between any activity and the application
+    private static final int CONFIG_WINDOW_CONFIGURATION = 0x20000000;
+
+    @Test
+    public void isCompatible_windowAndOrientation_compatible() {
+        assertTrue(MenuItemPool.isCompatible(0));
+        assertTrue(MenuItemPool.isCompatible(CONFIG_WINDOW_CONFIGURATION
+                | ActivityInfo.CONFIG_ORIENTATION | ActivityInfo.CONFIG_SCREEN_SIZE));
+    }
+
+    @Test
+    public void isCompatible_appearanceChange_incompatible() {
+        assertFalse(MenuItemPool.isCompatible(ActivityInfo.CONFIG_UI_MODE));
+        assertFalse(MenuItemPool.isCompatible(ActivityInfo.CONFIG_DENSITY | ActivityInfo.CONFIG_ORIENTATION));
+        assertFalse(MenuItemPool.isCompatible(ActivityInfo.CONFIG_LOCALE));
+        assertFalse(MenuItemPool.isCompatible(ActivityInfo.CONFIG_LAYOUT_DIRECTION));
+        assertFalse(MenuItemPool.isCompatible(ActivityInfo.CONFIG_FONT_SCALE));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.ramotion.circlemenu;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QualityControllerTest {
+
+    private static final long BUDGET = 16_000_000L;
+
+    @Test
+    public void pickTier() {
+        assertEquals(CircleMenuView.QUALITY_HIGH, QualityController.pickTier(false, 1f, 60f));
+        assertEquals(CircleMenuView.QUALITY_HIGH, QualityController.pickTier(false, 1f, 0f));
+        assertEquals(CircleMenuView.QUALITY_LOW, QualityController.pickTier(true, 1f, 60f));
+        assertEquals(CircleMenuView.QUALITY_LOW, QualityController.pickTier(false, 0f, 60f));
+        assertEquals(CircleMenuView.QUALITY_MEDIUM, QualityController.pickTier(false, 0.5f, 60f));
+        assertEquals(CircleMenuView.QUALITY_MEDIUM, QualityController.pickTier(false, 1f, 120f));
+    }
+
+    @Test
+    public void onAnimationStats_lowersTierAfterSlowStreak() {
+        final QualityController controller = new QualityController(CircleMenuView.QUALITY_HIGH, true);
+
+        assertFalse(controller.onAnimationStats(slow()));
+        assertTrue(controller.onAnimationStats(slow()));
+        assertEquals(CircleMenuView.QUALITY_MEDIUM, controller.getTier());
+
+        assertFalse(controller.onAnimationStats(slow()));
+        assertTrue(controller.onAnimationStats(slow()));
+        assertEquals(CircleMenuView.QUALITY_LOW, controller.getTier());
+
+        assertFalse(controller.onAnimationStats(slow()));
+        assertFalse(controller.onAnimationStats(slow()));
+        assertEquals(CircleMenuView.QUALITY_LOW, controller.getTier());
+    }
+
+    @Test
+    public void onAnimationStats_smoothAnimationResetsStreak() {
+        final QualityController controller = new QualityController(CircleMenuView.QUALITY_HIGH, true);
+
+        assertFalse(controller.onAnimationStats(slow()));
+        assertFalse(controller.onAnimationStats(smooth()));
+        assertFalse(controller.onAnimationStats(slow()));
+        assertEquals(CircleMenuView.QUALITY_HIGH, controller.getTier());
+    }
+
+    @Test
+    public void onAnimationStats_fixedTierIsKept() {
+        final QualityController controller = new QualityController(CircleMenuView.QUALITY_HIGH, false);
+
+        assertFalse(controller.onAnimationStats(slow()));
+        assertFalse(controller.onAnimationStats(slow()));
+        assertEquals(CircleMenuView.QUALITY_HIGH, controller.getTier());
+    }
+
+    private static AnimationStats slow() {
+        final long[] frames = {BUDGET, BUDGET * 3, BUDGET * 2, BUDGET};
+        return AnimationStats.compute(AnimationStats.TYPE_OPEN, frames, frames.length, BUDGET, 0, 0);
+    }
+
+    private static AnimationStats smooth() {
+        final long[] frames = {BUDGET, BUDGET, BUDGET, BUDGET};
+        return AnimationStats.compute(AnimationStats.TYPE_OPEN, frames, frames.length, BUDGET, 0, 0);
+    }
+
+}
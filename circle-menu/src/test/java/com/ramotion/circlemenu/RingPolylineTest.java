@@ -0,0 +1,46 @@
+package com.ramotion.circlemenu;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RingPolylineTest {
+
+    private static final float DELTA = 1e-3f;
+
+    private final List<float[]> points = new ArrayList<>();
+    private final RingPolyline.Target target = new RingPolyline.Target() {
+        @Override
+        public void lineTo(float x, float y) {
+            points.add(new float[] {x, y});
+        }
+    };
+
+    @Test
+    public void append_pointEveryStepAndAtAngle() {
+        RingPolyline.append(0f, 0f, 12f, 10f, target);
+
+        assertEquals(3, points.size());
+        assertPoint(5f, points.get(0));
+        assertPoint(10f, points.get(1));
+        assertPoint(12f, points.get(2));
+    }
+
+    @Test
+    public void append_continuesFromDrawnAngle() {
+        RingPolyline.append(-90f, 90f, 92f, 10f, target);
+
+        assertEquals(1, points.size());
+        assertPoint(2f, points.get(0));
+    }
+
+    private static void assertPoint(float angle, float[] point) {
+        final double radians = Math.toRadians(angle);
+        assertEquals((float) Math.cos(radians) * 10f, point[0], DELTA);
+        assertEquals((float) Math.sin(radians) * 10f, point[1], DELTA);
+    }
+
+}